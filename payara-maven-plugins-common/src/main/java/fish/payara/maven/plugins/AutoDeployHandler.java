@@ -39,18 +39,26 @@
 package fish.payara.maven.plugins;
 
 import static fish.payara.maven.plugins.Configuration.CLASSES_DIRECTORY;
+import static fish.payara.maven.plugins.Configuration.DEFAULT_IGNORE_PATTERNS;
+import static fish.payara.maven.plugins.Configuration.FINGERPRINT_STORE;
 import static fish.payara.maven.plugins.Configuration.GOAL_CLEAN;
 import static fish.payara.maven.plugins.Configuration.GOAL_COMPILE;
+import static fish.payara.maven.plugins.Configuration.GOAL_PACKAGE;
 import static fish.payara.maven.plugins.Configuration.GOAL_PROCESS_RESOURCES;
 import static fish.payara.maven.plugins.Configuration.GOAL_WAR;
 import static fish.payara.maven.plugins.Configuration.GOAL_WAR_EXPLODED;
+import static fish.payara.maven.plugins.Configuration.IGNORE_FILES;
 import static fish.payara.maven.plugins.Configuration.INOTIFY_USER_LIMIT_REACHED_MESSAGE;
+import static fish.payara.maven.plugins.Configuration.INOTIFY_WATCHES_LIMIT_REACHED_MESSAGE;
 import static fish.payara.maven.plugins.Configuration.JAVA_DIR;
 import static fish.payara.maven.plugins.Configuration.JAVA_FILE_EXTENSION;
+import static fish.payara.maven.plugins.Configuration.LIB_DIRECTORY;
 import static fish.payara.maven.plugins.Configuration.MAIN_DIR;
-import static fish.payara.maven.plugins.Configuration.MAVEN_MULTI_MODULE_PROJECT_DIRECTORY;
+import static fish.payara.maven.plugins.Configuration.OPTION_ALSO_MAKE;
 import static fish.payara.maven.plugins.Configuration.OPTION_DISABLE_INCREMENTAL_COMPILATION;
 import static fish.payara.maven.plugins.Configuration.OPTION_OUTPUT_DIRECTORY;
+import static fish.payara.maven.plugins.Configuration.OPTION_PROJECTS;
+import static fish.payara.maven.plugins.Configuration.POLLING_INTERVAL;
 import static fish.payara.maven.plugins.Configuration.POM;
 import static fish.payara.maven.plugins.Configuration.POM_XML;
 import static fish.payara.maven.plugins.Configuration.RESOURCES_DIR;
@@ -62,43 +70,41 @@ import static fish.payara.maven.plugins.Configuration.WATCH_SERVICE_ERROR_MESSAG
 import static fish.payara.maven.plugins.Configuration.WEB_INF_DIRECTORY;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.FileSystems;
+import java.net.InetSocketAddress;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
-import java.nio.file.LinkOption;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
-import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.StandardCopyOption;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import java.nio.file.WatchEvent;
-import java.nio.file.WatchKey;
-import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 import org.apache.maven.model.Profile;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
-import org.apache.maven.shared.invoker.DefaultInvocationRequest;
-import org.apache.maven.shared.invoker.DefaultInvoker;
-import org.apache.maven.shared.invoker.InvocationRequest;
-import org.apache.maven.shared.invoker.InvocationResult;
-import org.apache.maven.shared.invoker.Invoker;
-import org.apache.maven.shared.invoker.MavenInvocationException;
 
 /**
  *
@@ -111,30 +117,58 @@ public abstract class AutoDeployHandler implements Runnable {
     private final File webappDirectory;
     protected final Log log;
     private final ExecutorService executorService;
-    private WatchService watchService;
+    private final BuildEngine buildEngine;
+    private final IncrementalCompiler compiler;
+    private final FingerprintStore fingerprints;
+    private final ReloadTimings timings;
+    private FileWatcher fileWatcher;
+    private Reactor reactor;
+    private List<Path> watchedDirectories;
     private Future<?> buildReloadTask;
-    private long buildReloadTaskStartTime;
+    private BuildState buildState = BuildState.IDLE;
+    private final AtomicLong buildGeneration = new AtomicLong();
+    private final AtomicLong cancelledGeneration = new AtomicLong();
     private final AtomicBoolean cleanPending = new AtomicBoolean(false);
+    private final AtomicBoolean rebootPending = new AtomicBoolean(false);
     protected final ConcurrentSkipListSet<Source> sourceUpdatedPending = new ConcurrentSkipListSet<>();
+    private final Set<MavenProject> modulesUpdatedPending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean moduleCleanPending = new AtomicBoolean(false);
+    private final Set<MavenProject> modulesBuilt = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean librariesUpdated = new AtomicBoolean(false);
     private final AtomicBoolean stopRequested = new AtomicBoolean(false);
-    private final Path buildPath, ideaPath,
-            eclipsePath, eclipseClasspathPath, eclipseProjectPath,
-            vscodePath, nbPath;
     protected final static String RELOADING = "Reloading";
 
+    /**
+     * Build scheduling states: changes are collected until they are quiet,
+     * then built; changes made during a build queue a single follow-up build
+     * instead of cancelling the running one.
+     */
+    private enum BuildState {
+        IDLE, COLLECTING, BUILDING, PENDING_REBUILD
+    }
+
     public AutoDeployHandler(StartTask start, File webappDirectory) {
         this.start = start;
         this.project = start.getProject();
         this.webappDirectory = webappDirectory;
         this.log = start.getLog();
         this.executorService = Executors.newSingleThreadExecutor();
-        this.buildPath = project.getBasedir().toPath().resolve("target");
-        this.ideaPath = project.getBasedir().toPath().resolve(".idea");
-        this.eclipsePath = project.getBasedir().toPath().resolve(".settings");
-        this.vscodePath = project.getBasedir().toPath().resolve(".vscode");
-        this.eclipseClasspathPath = project.getBasedir().toPath().resolve(".classpath");
-        this.eclipseProjectPath = project.getBasedir().toPath().resolve(".project");
-        this.nbPath = project.getBasedir().toPath().resolve("nb-configuration.xml");
+        this.buildEngine = createBuildEngine();
+        this.compiler = new IncrementalCompiler(project, start.getSession(), start.getProjectBuilder(), log);
+        this.fingerprints = new FingerprintStore(project.getBasedir().toPath(),
+                Paths.get(project.getBuild().getDirectory(), FINGERPRINT_STORE), log);
+        this.timings = new ReloadTimings(project.getName(), log);
+    }
+
+    private BuildEngine createBuildEngine() {
+        if (start.isEmbeddedBuild()) {
+            if (start.getSession() != null && start.getMaven() != null && start.getLegacySupport() != null) {
+                return new EmbeddedBuildEngine(start.getSession(), start.getMaven(), start.getLegacySupport(),
+                        new ForkedBuildEngine(log), log);
+            }
+            log.warn("Embedded build engine not available, falling back to forked Maven builds.");
+        }
+        return new ForkedBuildEngine(log);
     }
 
     public void stop() {
@@ -145,131 +179,110 @@ public abstract class AutoDeployHandler implements Runnable {
         return !stopRequested.get();
     }
 
+    public ReloadTimings getReloadTimings() {
+        return timings;
+    }
+
+    /**
+     * @return <code>true</code> if the pending reload includes libraries
+     * rebuilt from sibling modules of the reactor.
+     */
+    protected boolean isLibrariesUpdated() {
+        return librariesUpdated.get();
+    }
+
     @Override
     public void run() {
         try {
-            Path rootPath = project.getBasedir().toPath();
-            this.watchService = FileSystems.getDefault().newWatchService();
-            rootPath.register(watchService,
-                    ENTRY_CREATE,
-                    ENTRY_DELETE,
-                    ENTRY_MODIFY);
-
-            registerAllDirectories(rootPath);
-
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 try {
                     if (buildReloadTask != null && !buildReloadTask.isDone()) {
+                        cancelledGeneration.set(buildGeneration.get());
+                        buildEngine.cancel();
                         buildReloadTask.cancel(true);
                     }
                     executorService.shutdown();
+                    fingerprints.save();
                 } catch (Exception ex) {
                     log.error(ex);
                 }
             }));
-            // Create a set of paths to ignore that are directories
-            Path testSourceDirectory = project.getBasedir().toPath().resolve(SRC_DIR).resolve(TEST_DIR);
-            Set<Path> ignoredDirectories = start.isIgnoreTestChanges()
-                    ? Set.of(buildPath, ideaPath, eclipsePath, vscodePath, testSourceDirectory)
-                    : Set.of(buildPath, ideaPath, eclipsePath, vscodePath);
-
-            // Create a set of specific files to ignore
-            Set<Path> ignoredFiles = Set.of(
-                    eclipseClasspathPath, eclipseProjectPath, nbPath
-            );
-
+            this.reactor = Reactor.load(project, start.getSession(), start.getProjectBuilder(), log);
+            this.watchedDirectories = new ArrayList<>();
+            List<IgnoreRules> ignoreRules = new ArrayList<>();
+            watchedDirectories.add(project.getBasedir().toPath());
+            ignoreRules.add(createIgnoreRules(project, start.isIgnoreTestChanges()));
+            for (MavenProject module : reactor.getModules()) {
+                Path moduleDirectory = module.getBasedir().toPath();
+                if (watchedDirectories.stream().noneMatch(moduleDirectory::startsWith)) {
+                    watchedDirectories.add(moduleDirectory);
+                }
+                ignoreRules.add(createIgnoreRules(module, true));
+            }
+            if (watchedDirectories.size() > 1) {
+                log.info("Watching reactor modules: " + watchedDirectories.subList(1, watchedDirectories.size()));
+            }
+            Predicate<Path> excludedDirectories = path -> isIgnored(ignoreRules, path, true);
+            this.fileWatcher = createFileWatcher(excludedDirectories);
+            Path pomPath = project.getBasedir().toPath().resolve(POM_XML);
+            Path javaDirectory = project.getBasedir().toPath().resolve(SRC_DIR).resolve(MAIN_DIR).resolve(JAVA_DIR);
+
+            // Changes collected since the last build, merged by path
+            Map<Path, Source> changes = new LinkedHashMap<>();
+            long firstChangeTime = 0, lastChangeTime = 0;
+            int eventCount = 0;
             while (isAlive()) {
-                WatchKey key = watchService.poll(60, TimeUnit.SECONDS);
-                if (key != null) {
-                    List<WatchEvent<?>> filteredEvents = new ArrayList<>();
-                    for (WatchEvent<?> event : key.pollEvents()) {
-                        Path changed = (Path) event.context();
-                        Path fullPath = ((Path) key.watchable()).resolve(changed);
-
-                        // Check if the fullPath is in an ignored directory
-                        boolean isInIgnoredDirectory = ignoredDirectories.stream().anyMatch(fullPath::startsWith);
-                        boolean isIgnoredFile = ignoredFiles.contains(fullPath);
-                        boolean isTemporaryFile = fullPath.toString().endsWith("~");
-                        boolean isDirectory = Files.isDirectory(fullPath);
-
-                        // Skip the event if it's in an ignored directory, an ignored file, a temp file, or a directory
-                        if (isInIgnoredDirectory || isIgnoredFile || isTemporaryFile || isDirectory) {
-                            continue;
-                        }
-                        filteredEvents.add(event);
+                List<FileChange> fileChanges = pollFileChanges(getPollTimeout(changes.isEmpty(), firstChangeTime, lastChangeTime), excludedDirectories);
+                for (FileChange fileChange : fileChanges) {
+                    WatchEvent.Kind<?> kind = fileChange.getKind();
+                    Path fullPath = fileChange.getPath();
+                    Path changed = fullPath.getFileName();
+
+                    // Skip directory events, except deletions, and ignored paths
+                    if ((fileChange.isDirectory() && kind != ENTRY_DELETE)
+                            || isIgnored(ignoreRules, fullPath, fileChange.isDirectory())) {
+                        continue;
                     }
-                    if (!filteredEvents.isEmpty()) {
-                        boolean skip = false;
-                        if (buildReloadTask != null && !buildReloadTask.isDone()) {
-                            long duration = (System.currentTimeMillis() - buildReloadTaskStartTime);
-                            if (duration < 1000 && sourceUpdatedPending.size() == filteredEvents.size()) {
-                                skip = true;
-                            }
-                            log.debug("Duration : " + duration + ", skip : " + skip);
-                            if (!skip) {
-                                buildReloadTask.cancel(true);
-                            }
-                        }
-                        if (!skip) {
-                            boolean resourceModified = false;
-                            boolean testClassesModified = false;
-                            boolean testResourcesModified = false;
-                            boolean classesModified = false;
-                            boolean rebootRequired = false;
-                            for (WatchEvent<?> event : filteredEvents) {
-                                WatchEvent.Kind<?> kind = event.kind();
-                                Path changed = (Path) event.context();
-                                Path fullPath = ((Path) key.watchable()).resolve(changed);
-                                log.debug("Source modified: " + changed + " - " + kind);
-
-                                Path projectRoot = Paths.get(project.getBasedir().toURI());
-                                Path sourceRoot = projectRoot.resolve(SRC_DIR);
-                                Path mainDirectory = sourceRoot.resolve(MAIN_DIR);
-                                Path javaDirectory = mainDirectory.resolve(JAVA_DIR);
-                                Path resourcesDirectory = mainDirectory.resolve(RESOURCES_DIR);
-                                Path testDirectory = sourceRoot.resolve(TEST_DIR);
-                                Path javaTestDirectory = testDirectory.resolve(JAVA_DIR);
-                                Path resourcesTestDirectory = testDirectory.resolve(RESOURCES_DIR);
-
-                                sourceUpdatedPending.add(new Source(fullPath, kind, fullPath.startsWith(javaDirectory)));
-                                if (fullPath.startsWith(resourcesDirectory)) {
-                                    resourceModified = true;
-                                }
-                                if (fullPath.startsWith(resourcesTestDirectory)) {
-                                    testResourcesModified = true;
-                                }
-                                if (fullPath.startsWith(javaTestDirectory)) {
-                                    testClassesModified = true;
-                                }
-                                if (fullPath.startsWith(javaDirectory)) {
-                                    classesModified = true;
-                                }
-                                if (kind == StandardWatchEventKinds.ENTRY_CREATE) {
-                                    if (Files.isDirectory(fullPath, LinkOption.NOFOLLOW_LINKS)) {
-                                        register(fullPath); // register watch service for newly created dir
-                                    }
-                                }
-                                if (kind == StandardWatchEventKinds.ENTRY_DELETE) {
-                                    cleanPending.set(true);
-                                }
-                                if (start.getRebootOnChange().contains(changed.toString())) {
-                                    rebootRequired = true;
-                                    cleanPending.set(true);
-                                    break;
-                                }
-                            }
-
-                            log.debug("sourceUpdatedPending: " + sourceUpdatedPending);
-                            if (!sourceUpdatedPending.isEmpty()) {
-                                WebDriverFactory.updateTitle("Building", project, start.getDriver(), log);
-                                List<String> goalsList = updateGoalsList(classesModified, resourceModified, testClassesModified, testResourcesModified);
-                                executeBuildReloadTask(goalsList, rebootRequired);
-                            }
+                    // Skip files rewritten with the content they had when last built
+                    if (kind != ENTRY_DELETE && !fingerprints.isModified(fullPath)) {
+                        log.debug("Source content unchanged: " + changed + " - " + kind);
+                        Source pending = changes.get(fullPath);
+                        if (pending != null && pending.getKind() == ENTRY_DELETE) {
+                            // deleted and recreated with the same content, e.g. by an atomic save
+                            changes.remove(fullPath);
                         }
+                        continue;
+                    }
+                    log.debug("Source modified: " + changed + " - " + kind);
+                    if (fullPath.equals(pomPath)) {
+                        compiler.invalidate();
+                    }
+                    if (start.getRebootOnChange().contains(changed.toString())) {
+                        rebootPending.set(true);
+                        cleanPending.set(true);
                     }
-                    key.reset();
+                    changes.merge(fullPath, new Source(fullPath, kind, fullPath.startsWith(javaDirectory)), AutoDeployHandler::merge);
+                    eventCount++;
+                    lastChangeTime = System.currentTimeMillis();
+                    if (firstChangeTime == 0) {
+                        firstChangeTime = lastChangeTime;
+                    }
+                }
+                if (changes.isEmpty()) {
+                    changesDiscarded();
+                    firstChangeTime = 0;
+                } else if (changesCollected(firstChangeTime, lastChangeTime)) {
+                    log.debug("Coalesced " + eventCount + " events into " + changes.size() + " changes");
+                    startBuild(changes.values(), firstChangeTime);
+                    changes.clear();
+                    firstChangeTime = 0;
+                    eventCount = 0;
+                } else if (isCleanBuildRequired(changes.values())) {
+                    cancelBuild();
                 }
             }
+            fileWatcher.close();
+            fingerprints.save();
         } catch (Exception ex) {
             log.error(ex);
             if (hasInotifyLimitReachedException(ex)) {
@@ -278,9 +291,193 @@ public abstract class AutoDeployHandler implements Runnable {
         }
     }
 
+    /**
+     * Merges two changes of the same path observed before a build started.
+     *
+     * @return the merged change, or <code>null</code> if the changes cancel
+     * each other out.
+     */
+    private static Source merge(Source previous, Source next) {
+        WatchEvent.Kind<?> kind;
+        if (previous.getKind() == ENTRY_CREATE) {
+            if (next.getKind() == ENTRY_DELETE) {
+                return null; // created and deleted again, e.g. an editor backup file
+            }
+            kind = ENTRY_CREATE;
+        } else if (previous.getKind() == ENTRY_DELETE && next.getKind() == ENTRY_CREATE) {
+            kind = ENTRY_MODIFY; // replaced, e.g. by an atomic save or a checkout
+        } else {
+            kind = next.getKind() == ENTRY_DELETE ? ENTRY_DELETE : previous.getKind();
+        }
+        return new Source(next.getPath(), kind, next.isJavaClass());
+    }
+
+    private synchronized long getPollTimeout(boolean idle, long firstChangeTime, long lastChangeTime) {
+        if (idle) {
+            return TimeUnit.SECONDS.toMillis(60);
+        }
+        if (buildState == BuildState.PENDING_REBUILD) {
+            return start.getBuildQuietPeriod();
+        }
+        long dueTime = Math.min(lastChangeTime + start.getBuildQuietPeriod(), firstChangeTime + start.getBuildMaxLatency());
+        return Math.max(1, dueTime - System.currentTimeMillis());
+    }
+
+    /**
+     * Records that changes are waiting for a build.
+     *
+     * @return <code>true</code> if the build should start now, i.e. no build
+     * is running and the changes were quiet for the quiet period or waited for
+     * the maximum latency.
+     */
+    private synchronized boolean changesCollected(long firstChangeTime, long lastChangeTime) {
+        if (buildState == BuildState.IDLE) {
+            buildState = BuildState.COLLECTING;
+        } else if (buildState == BuildState.BUILDING) {
+            buildState = BuildState.PENDING_REBUILD;
+        }
+        long now = System.currentTimeMillis();
+        return buildState == BuildState.COLLECTING
+                && (now - lastChangeTime >= start.getBuildQuietPeriod()
+                || now - firstChangeTime >= start.getBuildMaxLatency());
+    }
+
+    private synchronized void changesDiscarded() {
+        if (buildState == BuildState.COLLECTING) {
+            buildState = BuildState.IDLE;
+        } else if (buildState == BuildState.PENDING_REBUILD) {
+            buildState = BuildState.BUILDING;
+        }
+    }
+
+    private synchronized boolean isBuilding() {
+        return buildState == BuildState.BUILDING || buildState == BuildState.PENDING_REBUILD;
+    }
+
+    /**
+     * @return <code>true</code> if the changes require a clean build of the
+     * application, which discards the output of the running build.
+     */
+    private boolean isCleanBuildRequired(Collection<Source> changes) {
+        for (Source change : changes) {
+            if (reactor.getModule(change.getPath()) == null
+                    && (change.getKind() == ENTRY_DELETE
+                    || start.getRebootOnChange().contains(change.getPath().getFileName().toString()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Marks the running build as superseded, so that its output is not
+     * reloaded, and terminates it if the build engine supports it. The
+     * changes of the cancelled build are built again by the following build.
+     */
+    private void cancelBuild() {
+        long generation = buildGeneration.get();
+        if (!isBuilding() || cancelledGeneration.getAndSet(generation) == generation) {
+            return;
+        }
+        if (buildEngine.cancel()) {
+            log.info("Terminated the running auto-build of " + project.getName() + ", superseded by a clean build");
+        } else {
+            log.debug("Running auto-build of " + project.getName() + " superseded by a clean build");
+        }
+    }
+
+    private synchronized void buildStarted() {
+        buildState = BuildState.BUILDING;
+    }
+
+    private synchronized void buildFinished() {
+        buildState = buildState == BuildState.PENDING_REBUILD ? BuildState.COLLECTING : BuildState.IDLE;
+    }
+
+    private void startBuild(Collection<Source> changes, long firstChangeTime) {
+        for (Source change : changes) {
+            fingerprints.record(change.getPath());
+            MavenProject module = reactor.getModule(change.getPath());
+            if (module != null) {
+                modulesUpdatedPending.add(module);
+                if (change.getKind() == ENTRY_DELETE) {
+                    moduleCleanPending.set(true);
+                }
+                continue;
+            }
+            // merge with the changes left over by a failed build
+            Source previous = sourceUpdatedPending.ceiling(change);
+            if (previous != null && previous.compareTo(change) == 0) {
+                sourceUpdatedPending.remove(previous);
+                change = merge(previous, change);
+            }
+            if (change != null) {
+                sourceUpdatedPending.add(change);
+                if (change.getKind() == ENTRY_DELETE) {
+                    cleanPending.set(true);
+                }
+            }
+        }
+        log.debug("sourceUpdatedPending: " + sourceUpdatedPending);
+        log.debug("modulesUpdatedPending: " + modulesUpdatedPending);
+        List<MavenProject> modules = new ArrayList<>(modulesUpdatedPending);
+        if (sourceUpdatedPending.isEmpty() && !cleanPending.get()) {
+            if (!modules.isEmpty()) {
+                WebDriverFactory.updateTitle("Building", project, start.getDriver(), log);
+                buildStarted();
+                timings.start(firstChangeTime);
+                executeBuildReloadTask(modules, null, null, rebootPending.getAndSet(false));
+            }
+            return;
+        }
+
+        Path sourceRoot = project.getBasedir().toPath().resolve(SRC_DIR);
+        Path mainDirectory = sourceRoot.resolve(MAIN_DIR);
+        Path javaDirectory = mainDirectory.resolve(JAVA_DIR);
+        Path resourcesDirectory = mainDirectory.resolve(RESOURCES_DIR);
+        Path testDirectory = sourceRoot.resolve(TEST_DIR);
+        Path javaTestDirectory = testDirectory.resolve(JAVA_DIR);
+        Path resourcesTestDirectory = testDirectory.resolve(RESOURCES_DIR);
+        boolean resourceModified = false;
+        boolean testClassesModified = false;
+        boolean testResourcesModified = false;
+        boolean classesModified = false;
+        for (Source source : sourceUpdatedPending) {
+            Path fullPath = source.getPath();
+            if (fullPath.startsWith(resourcesDirectory)) {
+                resourceModified = true;
+            }
+            if (fullPath.startsWith(resourcesTestDirectory)) {
+                testResourcesModified = true;
+            }
+            if (fullPath.startsWith(javaTestDirectory)) {
+                testClassesModified = true;
+            }
+            if (fullPath.startsWith(javaDirectory)) {
+                classesModified = true;
+            }
+        }
+
+        WebDriverFactory.updateTitle("Building", project, start.getDriver(), log);
+        boolean onlyJavaFilesUpdated = isOnlyJavaFilesUpdated();
+        List<String> goalsList = updateGoalsList(onlyJavaFilesUpdated, classesModified, resourceModified, testClassesModified, testResourcesModified);
+        List<File> compileSources = null;
+        if (!cleanPending.get() && start.isLocal() && onlyJavaFilesUpdated && compiler.isAvailable()) {
+            compileSources = new ArrayList<>();
+            for (Source source : sourceUpdatedPending) {
+                compileSources.add(source.getPath().toFile());
+            }
+        }
+        buildStarted();
+        timings.start(firstChangeTime);
+        executeBuildReloadTask(modules, goalsList, compileSources, rebootPending.getAndSet(false));
+    }
+
     private boolean hasInotifyLimitReachedException(Throwable ex) {
         while (ex != null) {
-            if (ex instanceof IOException && ex.getMessage().contains(INOTIFY_USER_LIMIT_REACHED_MESSAGE)) {
+            if (ex instanceof IOException && ex.getMessage() != null
+                    && (ex.getMessage().contains(INOTIFY_USER_LIMIT_REACHED_MESSAGE)
+                    || ex.getMessage().contains(INOTIFY_WATCHES_LIMIT_REACHED_MESSAGE))) {
                 return true;
             }
             ex = ex.getCause();
@@ -288,28 +485,117 @@ public abstract class AutoDeployHandler implements Runnable {
         return false;
     }
 
-    private void registerAllDirectories(Path path) throws IOException {
-        Files.walk(path)
-                .filter(Files::isDirectory)
-                .forEach(this::register);
+    /**
+     * Ignores the build directory, IDE metadata, VCS and package manager
+     * trees, followed by the patterns of <code>.gitignore</code>,
+     * <code>.payaraignore</code> and the user configuration, in increasing
+     * precedence.
+     */
+    private IgnoreRules createIgnoreRules(MavenProject project, boolean ignoreTestChanges) {
+        Path rootPath = project.getBasedir().toPath();
+        IgnoreRules ignoreRules = new IgnoreRules(rootPath);
+        Path buildDirectory = Paths.get(project.getBuild().getDirectory());
+        if (buildDirectory.startsWith(rootPath) && !buildDirectory.equals(rootPath)) {
+            ignoreRules.add("/" + rootPath.relativize(buildDirectory).toString().replace(File.separatorChar, '/') + "/");
+        }
+        for (String pattern : DEFAULT_IGNORE_PATTERNS) {
+            ignoreRules.add(pattern);
+        }
+        if (ignoreTestChanges) {
+            ignoreRules.add("/" + SRC_DIR + "/" + TEST_DIR + "/");
+        }
+        for (String ignoreFile : IGNORE_FILES) {
+            try {
+                ignoreRules.addAll(rootPath.resolve(ignoreFile));
+            } catch (IOException ex) {
+                log.warn("Unable to read " + ignoreFile + ": " + ex.getMessage());
+            }
+        }
+        for (String pattern : start.getWatchIgnore()) {
+            ignoreRules.add(pattern);
+        }
+        return ignoreRules;
     }
 
-    private void register(Path path) {
-        boolean isChild = path.startsWith(buildPath) && (path.equals(buildPath) || !buildPath.relativize(path).equals(path));
+    private static boolean isIgnored(List<IgnoreRules> ignoreRules, Path path, boolean directory) {
+        for (IgnoreRules rules : ignoreRules) {
+            if (rules.isIgnored(path, directory)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Watches the whole project and its reactor modules natively, or falls
+     * back to a watcher that does not depend on the native watch limits.
+     */
+    private FileWatcher createFileWatcher(Predicate<Path> excludedDirectories) throws IOException {
         try {
-            if (!isChild) {
-                log.debug("register watch service for " + path);
-                path.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+            return new NativeFileWatcher(watchedDirectories, excludedDirectories, log);
+        } catch (IOException ex) {
+            if (hasInotifyLimitReachedException(ex)) {
+                log.warn(WATCH_SERVICE_ERROR_MESSAGE);
             }
+            log.debug(ex);
+            return createFallbackFileWatcher(excludedDirectories);
+        }
+    }
+
+    private FileWatcher createFallbackFileWatcher(Predicate<Path> excludedDirectories) {
+        List<Path> sourceRoots = new ArrayList<>();
+        for (Path directory : watchedDirectories) {
+            Path sourceRoot = directory.resolve(SRC_DIR);
+            if (Files.isDirectory(sourceRoot)) {
+                sourceRoots.add(sourceRoot);
+            }
+        }
+        try {
+            FileWatcher sourceWatcher = new NativeFileWatcher(sourceRoots, excludedDirectories, log);
+            log.warn("Watching " + sourceRoots + " natively and polling the rest of the project every " + POLLING_INTERVAL + " ms.");
+            return new HybridFileWatcher(sourceWatcher, new PollingFileWatcher(watchedDirectories,
+                    excludedDirectories.or(sourceRoots::contains), POLLING_INTERVAL, log));
         } catch (IOException ex) {
-            log.error("Error registering directories", ex);
+            log.debug(ex);
+            log.warn("Polling the project for changes every " + POLLING_INTERVAL + " ms.");
+            return new PollingFileWatcher(watchedDirectories, excludedDirectories, POLLING_INTERVAL, log);
         }
     }
 
-    private List<String> updateGoalsList(boolean classesModified, boolean resourceModified,
-            boolean testClassesModified, boolean testResourcesModified) {
-        boolean onlyJavaFilesUpdated = sourceUpdatedPending.stream()
+    /**
+     * Polls the file watcher, switching to the fallback watcher when new
+     * directories can no longer be watched natively, and to the polling
+     * watcher when the source roots can no longer be watched natively.
+     */
+    private List<FileChange> pollFileChanges(long timeout, Predicate<Path> excludedDirectories) throws IOException, InterruptedException {
+        try {
+            return fileWatcher.poll(timeout, TimeUnit.MILLISECONDS);
+        } catch (IOException ex) {
+            if (fileWatcher instanceof PollingFileWatcher) {
+                throw ex;
+            }
+            if (hasInotifyLimitReachedException(ex)) {
+                log.warn(WATCH_SERVICE_ERROR_MESSAGE);
+            }
+            log.debug(ex);
+            fileWatcher.close();
+            if (fileWatcher instanceof HybridFileWatcher) {
+                log.warn("Polling the project for changes every " + POLLING_INTERVAL + " ms.");
+                fileWatcher = new PollingFileWatcher(watchedDirectories, excludedDirectories, POLLING_INTERVAL, log);
+            } else {
+                fileWatcher = createFallbackFileWatcher(excludedDirectories);
+            }
+            return Collections.emptyList();
+        }
+    }
+
+    private boolean isOnlyJavaFilesUpdated() {
+        return sourceUpdatedPending.stream()
                 .allMatch(k -> k.getPath().toString().endsWith(JAVA_FILE_EXTENSION) && k.getKind() == ENTRY_MODIFY && k.isJavaClass());
+    }
+
+    private List<String> updateGoalsList(boolean onlyJavaFilesUpdated, boolean classesModified, boolean resourceModified,
+            boolean testClassesModified, boolean testResourcesModified) {
         List<String> goalsList = new ArrayList<>();
         boolean clean = cleanPending.get();
         if (clean) {
@@ -325,8 +611,7 @@ public abstract class AutoDeployHandler implements Runnable {
             }
         }
         if (!clean && start.isLocal() && onlyJavaFilesUpdated) {
-            Path outputDirectory = Paths.get(webappDirectory.toPath().toString(), WEB_INF_DIRECTORY, CLASSES_DIRECTORY);
-            goalsList.add(OPTION_OUTPUT_DIRECTORY + "\"" + outputDirectory.toString() + "\"");
+            goalsList.add(OPTION_OUTPUT_DIRECTORY + "\"" + getClassesDirectory().toString() + "\"");
         } else {
             goalsList.add(GOAL_WAR + ":" + (start.isLocal() ? GOAL_WAR_EXPLODED : GOAL_WAR));
         }
@@ -343,56 +628,238 @@ public abstract class AutoDeployHandler implements Runnable {
         return goalsList;
     }
 
-    private void executeBuildReloadTask(List<String> goalsList, boolean rebootRequired) {
-        buildReloadTaskStartTime = System.currentTimeMillis();
-        buildReloadTask = executorService.submit(() -> {
-            String message = "Auto-build started for " + project.getName() + " with goals: " + goalsList;
-
-            Invoker invoker = new DefaultInvoker();
-            invoker.setLogger(new InvokerLoggerImpl(log));
-            invoker.setInputStream(InputStream.nullInputStream());
+    private Path getClassesDirectory() {
+        return Paths.get(webappDirectory.toPath().toString(), WEB_INF_DIRECTORY, CLASSES_DIRECTORY);
+    }
 
-            InvocationRequest request = new DefaultInvocationRequest();
-            request.setPomFile(new File(project.getBasedir(), POM_XML));
-            System.setProperty(MAVEN_MULTI_MODULE_PROJECT_DIRECTORY, project.getBasedir().toString());
-            if (goalsList.get(0).equals(GOAL_CLEAN)) {
-                deleteBuildDir(project.getBuild().getDirectory());
-                goalsList.remove(0);
-            }
-            request.setGoals(goalsList);
-            try {
-                Thread.sleep(5);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt(); // Restore the interrupted status
-                return; // Exit if the thread is interrupted
-            }
-            log.info(message);
+    private void executeBuildReloadTask(List<MavenProject> modules, List<String> goalsList, List<File> compileSources, boolean rebootRequired) {
+        long generation = buildGeneration.incrementAndGet();
+        buildReloadTask = executorService.submit(() -> {
             try {
-                InvocationResult result = invoker.execute(request);
-                if (result.getExitCode() != 0) {
+                int exitCode = 0;
+                if (!modules.isEmpty()) {
+                    timings.begin(ReloadTimings.Phase.MODULES);
+                    exitCode = executeModuleBuild(modules);
+                }
+                // the module build already packaged an archive deployed as a whole
+                if (exitCode == 0 && goalsList != null && (modules.isEmpty() || start.isLocal())) {
+                    if (goalsList.get(0).equals(GOAL_CLEAN)) {
+                        deleteBuildDir(project.getBuild().getDirectory());
+                        goalsList.remove(0);
+                    }
+                    if (compileSources != null) {
+                        timings.begin(ReloadTimings.Phase.COMPILE);
+                        exitCode = executeCompile(compileSources, goalsList);
+                    } else {
+                        timings.begin(ReloadTimings.Phase.BUILD);
+                        log.info("Auto-build started for " + project.getName() + " with goals: " + goalsList);
+                        exitCode = buildEngine.execute(new File(project.getBasedir(), POM_XML), goalsList);
+                        compiler.resetIndex();
+                        if (exitCode == 0) {
+                            // the war goals copy the libraries of the local repository
+                            updateLibraries(modulesBuilt);
+                        }
+                    }
+                }
+                if (cancelledGeneration.get() == generation) {
+                    // never reload the output of a build superseded by a newer one
+                    timings.cancel();
+                    if (rebootRequired) {
+                        rebootPending.set(true);
+                    }
+                    log.info("Auto-build cancelled for " + project.getName());
+                } else if (exitCode != 0) {
+                    timings.cancel();
+                    if (rebootRequired) {
+                        rebootPending.set(true);
+                    }
                     if (!buildReloadTask.isCancelled()) {
-                        log.info("Auto-build failed with exit code: " + result.getExitCode());
+                        log.info("Auto-build failed with exit code: " + exitCode);
                         WebDriverFactory.updateTitle("Build failed", project, start.getDriver(), log);
                     }
                 } else {
                     log.info("Auto-build successful for " + project.getName());
+                    if (compileSources != null && modules.isEmpty() && !rebootRequired && hotSwap()) {
+                        WebDriverFactory.refresh(start.getDriver(), timings, log);
+                    } else {
+                        timings.begin(ReloadTimings.Phase.DEPLOY);
+                        reload(rebootRequired);
+                        if (!isDeploymentLogged()) {
+                            timings.finish();
+                        }
+                    }
                     cleanPending.set(false);
                     sourceUpdatedPending.clear();
-
-                    reload(rebootRequired);
-                    cleanPending.set(false);
-                    sourceUpdatedPending.clear();
+                    librariesUpdated.set(false);
                 }
-            } catch (MavenInvocationException ex) {
-                log.error("Error invoking Maven", ex);
             } catch (Throwable ex) {
+                timings.cancel();
                 log.error("Error invoking Maven", ex);
+            } finally {
+                buildFinished();
             }
         });
     }
 
+    /**
+     * Builds the modified reactor modules, the packaged modules depending on
+     * them and the modules they depend on, from the reactor root, and
+     * replaces their archives in the exploded application. An application
+     * not deployed exploded is packaged by the same build, as the war plugin
+     * would otherwise bundle the archives of the local repository.
+     */
+    private int executeModuleBuild(List<MavenProject> modules) throws Exception {
+        List<MavenProject> affectedModules = reactor.getAffectedModules(modules);
+        boolean packageProject = !start.isLocal();
+        boolean clean = moduleCleanPending.get() || (packageProject && cleanPending.get());
+        List<String> goalsList = getModuleBuildGoals(affectedModules, packageProject ? project : null, clean);
+        List<String> ids = new ArrayList<>();
+        for (MavenProject module : affectedModules) {
+            ids.add(Reactor.getId(module));
+        }
+        log.info("Auto-build started for modules " + ids + " with goals: " + goalsList);
+        int exitCode = buildEngine.execute(reactor.getRootPom(), goalsList);
+        if (exitCode == 0) {
+            modulesUpdatedPending.removeAll(modules);
+            moduleCleanPending.set(false);
+            modulesBuilt.addAll(affectedModules);
+            for (MavenProject module : affectedModules) {
+                compiler.overrideLibrary(Reactor.getId(module), Reactor.getArchive(module));
+            }
+            updateLibraries(affectedModules);
+        }
+        return exitCode;
+    }
+
+    /**
+     * @return the goals packaging the given reactor modules, and the project
+     * if not null, together with the modules they depend on.
+     */
+    static List<String> getModuleBuildGoals(List<MavenProject> modules, MavenProject project, boolean clean) {
+        List<String> ids = new ArrayList<>();
+        for (MavenProject module : modules) {
+            ids.add(Reactor.getId(module));
+        }
+        if (project != null) {
+            ids.add(Reactor.getId(project));
+        }
+        List<String> goalsList = new ArrayList<>();
+        if (clean) {
+            goalsList.add(GOAL_CLEAN);
+        }
+        goalsList.add(GOAL_PACKAGE);
+        goalsList.add(OPTION_PROJECTS + String.join(",", ids));
+        goalsList.add(OPTION_ALSO_MAKE);
+        goalsList.add(SKIP_TESTS_FLAG);
+        return goalsList;
+    }
+
+    /**
+     * Replaces the libraries of the exploded application by the archives of
+     * the reactor modules, unless they are already up to date.
+     */
+    private void updateLibraries(Collection<MavenProject> modules) throws IOException {
+        Path libDirectory = webappDirectory.toPath().resolve(WEB_INF_DIRECTORY).resolve(LIB_DIRECTORY);
+        for (MavenProject module : modules) {
+            Path archive = Reactor.getArchive(module).toPath();
+            if (!Files.isRegularFile(archive)) {
+                log.warn("Archive of module " + Reactor.getId(module) + " not found: " + archive);
+                continue;
+            }
+            Path library = getLibrary(libDirectory, module);
+            if (Files.isRegularFile(library)
+                    && Files.size(library) == Files.size(archive)
+                    && Files.getLastModifiedTime(library).equals(Files.getLastModifiedTime(archive))) {
+                continue;
+            }
+            Files.createDirectories(libDirectory);
+            Files.copy(archive, library, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+            librariesUpdated.set(true);
+            log.info("Updated library " + library.getFileName() + " of module " + Reactor.getId(module));
+        }
+    }
+
+    /**
+     * @return the library of the module in the exploded application, as named
+     * by the default file name mapping of the war plugin, or the existing
+     * library of the module with a custom name.
+     */
+    private static Path getLibrary(Path libDirectory, MavenProject module) throws IOException {
+        String prefix = module.getArtifactId() + "-" + module.getVersion();
+        Path library = libDirectory.resolve(prefix + ".jar");
+        if (!Files.exists(library) && Files.isDirectory(libDirectory)) {
+            try (Stream<Path> libraries = Files.list(libDirectory)) {
+                return libraries.filter(path -> path.getFileName().toString().startsWith(prefix))
+                        .findFirst()
+                        .orElse(library);
+            }
+        }
+        return library;
+    }
+
+    /**
+     * Compiles the modified sources in-process, falling back to the Maven
+     * build when the project cannot be compiled without Maven.
+     */
+    private int executeCompile(List<File> compileSources, List<String> goalsList) throws Exception {
+        log.info("Auto-compile started for " + project.getName() + " with sources: " + compileSources);
+        try {
+            long startTime = System.currentTimeMillis();
+            boolean success = compiler.compile(compileSources, getClassesDirectory().toFile());
+            log.debug("In-process compilation took " + (System.currentTimeMillis() - startTime) + " ms");
+            return success ? 0 : 1;
+        } catch (Exception ex) {
+            log.warn("In-process compilation not available, falling back to Maven builds: " + ex.getMessage());
+            log.debug(ex);
+            compiler.disable();
+            timings.begin(ReloadTimings.Phase.BUILD);
+            log.info("Auto-build started for " + project.getName() + " with goals: " + goalsList);
+            return buildEngine.execute(new File(project.getBasedir(), POM_XML), goalsList);
+        }
+    }
+
+    /**
+     * Redefines the classes of the last in-process compilation in the running
+     * instance, when only method bodies changed.
+     *
+     * @return <code>true</code> if the classes were redefined, so that the
+     * application does not need to be reloaded.
+     */
+    private boolean hotSwap() {
+        InetSocketAddress address = start.getHotSwapAddress();
+        if (address == null || !compiler.isAvailable()) {
+            return false;
+        }
+        Map<String, byte[]> classes = compiler.getRedefinableClasses();
+        if (classes == null) {
+            log.info("Hot swap skipped as class structure changed, reloading " + project.getName());
+            return false;
+        }
+        timings.begin(ReloadTimings.Phase.HOTSWAP);
+        long startTime = System.currentTimeMillis();
+        try {
+            int redefined = HotSwapClient.redefine(address, classes);
+            log.info("Hot swapped " + redefined + " loaded classes of " + project.getName()
+                    + " in " + (System.currentTimeMillis() - startTime) + " ms");
+            return true;
+        } catch (IOException ex) {
+            log.info("Hot swap failed (" + ex.getMessage() + "), reloading " + project.getName());
+            return false;
+        }
+    }
+
     public abstract void reload(boolean rebootRequired);
 
+    /**
+     * @return <code>true</code> if the end of the deployment requested by
+     * {@link #reload(boolean)} is detected in the log, which completes the
+     * reload cycle, or <code>false</code> if the deployment is complete once
+     * reload returns.
+     */
+    protected boolean isDeploymentLogged() {
+        return false;
+    }
+
     public void deleteBuildDir(String filePath) {
         try {
             Path fileToDelete = Paths.get(filePath);
@@ -0,0 +1,73 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Executes the Maven goals computed by {@link AutoDeployHandler} for each
+ * detected source change.
+ *
+ * @author Gaurav Gupta
+ */
+public interface BuildEngine {
+
+    /**
+     * Runs a build of the given project.
+     *
+     * @param pomFile the project descriptor to build.
+     * @param goals goals to execute, optionally mixed with command line style
+     * <code>-D</code>, <code>-P</code>, <code>--projects=</code> and
+     * <code>--also-make</code> arguments.
+     * @return the build exit code, <code>0</code> on success.
+     * @throws Exception if the build could not be executed.
+     */
+    int execute(File pomFile, List<String> goals) throws Exception;
+
+    /**
+     * Terminates the running build, if the engine supports it.
+     *
+     * @return <code>true</code> if a running build was terminated.
+     */
+    default boolean cancel() {
+        return false;
+    }
+
+}
@@ -0,0 +1,415 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Reverse dependency graph of the compiled classes of a project, built from
+ * the constant pools of the class files. Each class also records a hash of
+ * its non-private API and a separate hash of its compile-time constants,
+ * which are inlined by javac and therefore invisible in the constant pool of
+ * the classes using them.
+ *
+ * @author Gaurav Gupta
+ */
+public class ClassDependencyIndex {
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    private final Map<String, ClassInfo> classes = new HashMap<>();
+    private final Map<String, Set<String>> dependents = new HashMap<>();
+    private final Map<String, Set<String>> classesBySource = new HashMap<>();
+
+    /**
+     * Builds the index from all the class files of the given directory.
+     */
+    public static ClassDependencyIndex scan(Path classesDirectory) throws IOException {
+        ClassDependencyIndex index = new ClassDependencyIndex();
+        if (Files.isDirectory(classesDirectory)) {
+            try (Stream<Path> paths = Files.walk(classesDirectory)) {
+                for (Path path : (Iterable<Path>) paths::iterator) {
+                    if (path.toString().endsWith(CLASS_FILE_EXTENSION) && Files.isRegularFile(path)) {
+                        index.update(parse(Files.readAllBytes(path)));
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    public int size() {
+        return classes.size();
+    }
+
+    public ClassInfo get(String className) {
+        return classes.get(className);
+    }
+
+    /**
+     * @return the classes whose constant pool references the given class.
+     */
+    public Set<String> getDependents(String className) {
+        Set<String> result = dependents.get(className);
+        return result != null ? Collections.unmodifiableSet(result) : Collections.<String>emptySet();
+    }
+
+    /**
+     * @param sourceFile source path relative to its source root, using
+     * <code>/</code> separators.
+     * @return the classes compiled from the given source file.
+     */
+    public Set<String> getClassesOf(String sourceFile) {
+        Set<String> result = classesBySource.get(sourceFile);
+        return result != null ? new HashSet<>(result) : Collections.<String>emptySet();
+    }
+
+    public void update(ClassInfo info) {
+        remove(info.getName());
+        classes.put(info.getName(), info);
+        for (String dependency : info.getDependencies()) {
+            dependents.computeIfAbsent(dependency, k -> new HashSet<>()).add(info.getName());
+        }
+        if (info.getSourceFile() != null) {
+            classesBySource.computeIfAbsent(info.getSourceFile(), k -> new HashSet<>()).add(info.getName());
+        }
+    }
+
+    public void remove(String className) {
+        ClassInfo previous = classes.remove(className);
+        if (previous == null) {
+            return;
+        }
+        for (String dependency : previous.getDependencies()) {
+            Set<String> users = dependents.get(dependency);
+            if (users != null) {
+                users.remove(className);
+                if (users.isEmpty()) {
+                    dependents.remove(dependency);
+                }
+            }
+        }
+        if (previous.getSourceFile() != null) {
+            Set<String> sourceClasses = classesBySource.get(previous.getSourceFile());
+            if (sourceClasses != null) {
+                sourceClasses.remove(className);
+                if (sourceClasses.isEmpty()) {
+                    classesBySource.remove(previous.getSourceFile());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the name, source file, referenced classes and API hashes of a
+     * class file.
+     */
+    public static ClassInfo parse(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException("Not a class file");
+        }
+        in.readUnsignedShort(); // minor_version
+        in.readUnsignedShort(); // major_version
+        int poolCount = in.readUnsignedShort();
+        int[] tags = new int[poolCount];
+        Object[] values = new Object[poolCount];
+        int[] references = new int[poolCount];
+        for (int i = 1; i < poolCount; i++) {
+            int tag = in.readUnsignedByte();
+            tags[i] = tag;
+            switch (tag) {
+                case 1: // Utf8
+                    values[i] = in.readUTF();
+                    break;
+                case 3: // Integer
+                    values[i] = in.readInt();
+                    break;
+                case 4: // Float
+                    values[i] = in.readFloat();
+                    break;
+                case 5: // Long
+                    values[i++] = in.readLong();
+                    break;
+                case 6: // Double
+                    values[i++] = in.readDouble();
+                    break;
+                case 7: // Class
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    references[i] = in.readUnsignedShort();
+                    break;
+                case 15: // MethodHandle
+                    in.readUnsignedByte();
+                    in.readUnsignedShort();
+                    break;
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    in.readUnsignedShort();
+                    in.readUnsignedShort();
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        Set<String> dependencies = new HashSet<>();
+        for (int i = 1; i < poolCount; i++) {
+            if (tags[i] == 7) {
+                addClassName(dependencies, (String) values[references[i]]);
+            } else if (tags[i] == 1) {
+                addDescriptorTypes(dependencies, (String) values[i]);
+            }
+        }
+
+        int access = in.readUnsignedShort();
+        String name = (String) values[references[in.readUnsignedShort()]];
+        int superIndex = in.readUnsignedShort();
+        List<String> api = new ArrayList<>();
+        api.add("class " + access + ' ' + (superIndex != 0 ? values[references[superIndex]] : ""));
+        int interfaceCount = in.readUnsignedShort();
+        for (int i = 0; i < interfaceCount; i++) {
+            api.add("implements " + values[references[in.readUnsignedShort()]]);
+        }
+        List<String> schema = new ArrayList<>(api);
+
+        List<String> constants = new ArrayList<>();
+        int fieldCount = in.readUnsignedShort();
+        for (int i = 0; i < fieldCount; i++) {
+            readMember(in, values, tags, references, "field ", api, schema, constants);
+        }
+        int methodCount = in.readUnsignedShort();
+        for (int i = 0; i < methodCount; i++) {
+            readMember(in, values, tags, references, "method ", api, schema, constants);
+        }
+
+        String sourceFile = null;
+        int attributeCount = in.readUnsignedShort();
+        for (int i = 0; i < attributeCount; i++) {
+            String attribute = (String) values[in.readUnsignedShort()];
+            int length = in.readInt();
+            if ("SourceFile".equals(attribute)) {
+                sourceFile = (String) values[in.readUnsignedShort()];
+            } else if ("Signature".equals(attribute)) {
+                api.add("signature " + values[in.readUnsignedShort()]);
+            } else if ("PermittedSubclasses".equals(attribute)) {
+                int count = in.readUnsignedShort();
+                for (int j = 0; j < count; j++) {
+                    api.add("permits " + values[references[in.readUnsignedShort()]]);
+                }
+            } else {
+                in.skipBytes(length);
+            }
+        }
+        if (sourceFile != null) {
+            int packageEnd = name.lastIndexOf('/');
+            sourceFile = packageEnd == -1 ? sourceFile : name.substring(0, packageEnd + 1) + sourceFile;
+        }
+        dependencies.remove(name);
+        return new ClassInfo(name, sourceFile, dependencies, hash(api), hash(schema), hash(constants));
+    }
+
+    private static void readMember(DataInputStream in, Object[] values, int[] tags, int[] references,
+            String kind, List<String> api, List<String> schema, List<String> constants) throws IOException {
+        int access = in.readUnsignedShort();
+        String name = (String) values[in.readUnsignedShort()];
+        String descriptor = (String) values[in.readUnsignedShort()];
+        schema.add(kind + access + ' ' + name + descriptor);
+        boolean visible = (access & (ACC_PRIVATE | ACC_SYNTHETIC)) == 0;
+        StringBuilder member = new StringBuilder(kind).append(access).append(' ').append(name).append(descriptor);
+        int attributeCount = in.readUnsignedShort();
+        for (int i = 0; i < attributeCount; i++) {
+            String attribute = (String) values[in.readUnsignedShort()];
+            int length = in.readInt();
+            if ("ConstantValue".equals(attribute)) {
+                int index = in.readUnsignedShort();
+                if (visible) {
+                    Object value = tags[index] == 8 ? values[references[index]] : values[index];
+                    constants.add(name + '=' + value);
+                }
+            } else if (visible && "Signature".equals(attribute)) {
+                member.append(' ').append(values[in.readUnsignedShort()]);
+            } else if (visible && "Exceptions".equals(attribute)) {
+                int count = in.readUnsignedShort();
+                for (int j = 0; j < count; j++) {
+                    member.append(" throws ").append(values[references[in.readUnsignedShort()]]);
+                }
+            } else {
+                in.skipBytes(length);
+            }
+        }
+        if (visible) {
+            api.add(member.toString());
+        }
+    }
+
+    private static void addClassName(Set<String> dependencies, String name) {
+        if (name.startsWith("[")) {
+            addDescriptorTypes(dependencies, name);
+        } else {
+            dependencies.add(name);
+        }
+    }
+
+    /**
+     * Collects the <code>Lpackage/Name;</code> types of descriptors and
+     * generic signatures.
+     */
+    private static void addDescriptorTypes(Set<String> dependencies, String descriptor) {
+        int start = descriptor.indexOf('L');
+        while (start != -1) {
+            int end = start + 1;
+            while (end < descriptor.length()) {
+                char c = descriptor.charAt(end);
+                if (c == ';' || c == '<') {
+                    break;
+                }
+                if (c == '(' || c == ')' || c == ' ' || c == '.' || c == '[') {
+                    end = -1;
+                    break;
+                }
+                end++;
+            }
+            if (end > start + 1 && end < descriptor.length()) {
+                dependencies.add(descriptor.substring(start + 1, end));
+                start = descriptor.indexOf('L', end);
+            } else {
+                start = descriptor.indexOf('L', start + 1);
+            }
+        }
+    }
+
+    private static long hash(List<String> entries) {
+        Collections.sort(entries);
+        long hash = 0xcbf29ce484222325L;
+        for (String entry : entries) {
+            for (int i = 0; i < entry.length(); i++) {
+                hash ^= entry.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= '\n';
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    public static class ClassInfo {
+
+        private final String name;
+        private final String sourceFile;
+        private final Set<String> dependencies;
+        private final long apiHash;
+        private final long schemaHash;
+        private final long constantsHash;
+
+        public ClassInfo(String name, String sourceFile, Set<String> dependencies, long apiHash, long schemaHash, long constantsHash) {
+            this.name = name;
+            this.sourceFile = sourceFile;
+            this.dependencies = dependencies;
+            this.apiHash = apiHash;
+            this.schemaHash = schemaHash;
+            this.constantsHash = constantsHash;
+        }
+
+        /**
+         * @return the internal name of the class, e.g.
+         * <code>fish/payara/Foo$Bar</code>.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the source path relative to its source root, or
+         * <code>null</code> if the class was compiled without debug
+         * information.
+         */
+        public String getSourceFile() {
+            return sourceFile;
+        }
+
+        public Set<String> getDependencies() {
+            return dependencies;
+        }
+
+        public long getApiHash() {
+            return apiHash;
+        }
+
+        /**
+         * @return the hash of the hierarchy and of all the fields and
+         * methods of the class, private and synthetic ones included, which
+         * have to stay the same for the class to be redefined in place.
+         */
+        public long getSchemaHash() {
+            return schemaHash;
+        }
+
+        public long getConstantsHash() {
+            return constantsHash;
+        }
+
+        @Override
+        public String toString() {
+            return "ClassInfo{" + "name=" + name + ", sourceFile=" + sourceFile + '}';
+        }
+
+    }
+
+}
@@ -38,9 +38,12 @@
  */
 package fish.payara.maven.plugins;
 
+import java.util.List;
+
 public interface Configuration {
 
     String INOTIFY_USER_LIMIT_REACHED_MESSAGE = "User limit of inotify instances reached";
+    String INOTIFY_WATCHES_LIMIT_REACHED_MESSAGE = "User limit of inotify watches reached";
     String WATCH_SERVICE_ERROR_MESSAGE = "Error starting WatchService. User limit of inotify instances reached or too many open files. Please increase the max_user_watches configuration.";
     String SKIP_TESTS_OPTION = "-DskipTests";
     String SKIP_TESTS_FLAG = "-Dmaven.test.skip=true";
@@ -49,8 +52,11 @@ public interface Configuration {
     String GOAL_COMPILE = "org.apache.maven.plugins:maven-compiler-plugin:3.12.1:compile"; //v3.12.1 is required as is includes fix https://github.com/apache/maven-compiler-plugin/pull/213
     String GOAL_WAR_EXPLODED = "exploded";
     String GOAL_WAR = "war";
+    String GOAL_PACKAGE = "package";
     String OPTION_DISABLE_INCREMENTAL_COMPILATION = "-Dmaven.compiler.useIncrementalCompilation=false";
     String OPTION_OUTPUT_DIRECTORY = "-Dmaven.compiler.outputDirectory=";
+    String OPTION_PROJECTS = "--projects=";
+    String OPTION_ALSO_MAKE = "--also-make";
     String MAVEN_MULTI_MODULE_PROJECT_DIRECTORY = "maven.multiModuleProjectDirectory";
     String SRC_DIR = "src";
     String MAIN_DIR = "main";
@@ -59,8 +65,17 @@ public interface Configuration {
     String TEST_DIR = "test";
     String WEB_INF_DIRECTORY = "WEB-INF";
     String CLASSES_DIRECTORY = "classes";
+    String LIB_DIRECTORY = "lib";
     String JAVA_FILE_EXTENSION = ".java";
     String POM = "pom";
     String POM_XML = "pom.xml";
+    String FINGERPRINT_STORE = "payara-dev-fingerprints.bin";
+    List<String> IGNORE_FILES = List.of(".gitignore", ".payaraignore");
+    List<String> DEFAULT_IGNORE_PATTERNS = List.of(
+            "/.idea/", "/.settings/", "/.vscode/", "/.classpath", "/.project", "/nb-configuration.xml",
+            ".git/", "node_modules/", "*~");
+    long DEFAULT_BUILD_QUIET_PERIOD = 100;
+    long DEFAULT_BUILD_MAX_LATENCY = 1000;
+    long POLLING_INTERVAL = 1000;
 
 }
@@ -0,0 +1,236 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.io.Closeable;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the output lines of a child process to the console from a single
+ * thread.
+ * <p>
+ * The stream pump threads only enqueue their lines in a bounded ring buffer,
+ * so the stdout and stderr lines stay in arrival order. The writer thread
+ * drains the buffer in batches, flushing once per batch, when the batch is
+ * full or shortly after its first line. An interactive prompt is cleared
+ * before and redrawn after each batch instead of around every line.
+ *
+ * @author Gaurav Gupta
+ */
+public class ConsoleWriter implements Closeable {
+
+    private static final int CAPACITY = 8192;
+    private static final int MAX_BATCH = 512;
+    private static final long FLUSH_INTERVAL = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long CLOSE_TIMEOUT = 2000;
+    private static final String CLEAR_LINE = "\r\033[K";
+
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(CAPACITY);
+    private final Thread thread;
+    private PrintStream promptStream;
+    private String prompt;
+    private volatile boolean closed;
+
+    public ConsoleWriter(ThreadGroup threadGroup) {
+        thread = new Thread(threadGroup, this::run, "ConsoleWriter");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues a line, waiting for space if the buffer is full.
+     */
+    public void println(PrintStream stream, String line) {
+        put(new Entry(Entry.LINE, stream, line));
+    }
+
+    /**
+     * Prints the prompt on a new line and keeps it below the lines written
+     * until {@link #hidePrompt()}.
+     */
+    public void showPrompt(PrintStream stream, String prompt) {
+        put(new Entry(Entry.SHOW_PROMPT, stream, prompt));
+    }
+
+    /**
+     * Stops redrawing the prompt, e.g. after the input line was entered.
+     */
+    public void hidePrompt() {
+        put(new Entry(Entry.HIDE_PROMPT, null, null));
+    }
+
+    /**
+     * Writes the queued lines and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.offer(new Entry(Entry.CLOSE, null, null));
+        try {
+            thread.join(CLOSE_TIMEOUT);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void put(Entry entry) {
+        if (closed || Thread.currentThread() == thread) {
+            write(entry);
+            return;
+        }
+        try {
+            queue.put(entry);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            write(entry);
+        }
+    }
+
+    private synchronized void write(Entry entry) {
+        List<Entry> batch = new ArrayList<>(1);
+        batch.add(entry);
+        write(batch);
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + FLUSH_INTERVAL;
+                while (batch.size() < MAX_BATCH && batch.get(batch.size() - 1).type != Entry.CLOSE) {
+                    if (queue.drainTo(batch, MAX_BATCH - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    Entry next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                boolean close = batch.get(batch.size() - 1).type == Entry.CLOSE;
+                write(batch);
+                batch.clear();
+                if (close) {
+                    return;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void write(List<Entry> batch) {
+        List<PrintStream> touched = new ArrayList<>(2);
+        StringBuilder text = new StringBuilder();
+        PrintStream current = null;
+        if (prompt != null) {
+            current = promptStream;
+            text.append(CLEAR_LINE);
+        }
+        for (Entry entry : batch) {
+            if (entry.type == Entry.LINE) {
+                if (entry.stream != current) {
+                    print(current, text, touched);
+                    current = entry.stream;
+                }
+                text.append(entry.text).append(System.lineSeparator());
+            } else if (entry.type == Entry.SHOW_PROMPT) {
+                if (prompt == null) {
+                    print(current, text, touched);
+                    current = entry.stream;
+                    text.append(System.lineSeparator());
+                }
+                promptStream = entry.stream;
+                prompt = entry.text;
+            } else if (entry.type == Entry.HIDE_PROMPT) {
+                prompt = null;
+            }
+        }
+        if (prompt != null) {
+            if (current != promptStream) {
+                print(current, text, touched);
+                current = promptStream;
+            }
+            text.append(prompt);
+        }
+        print(current, text, touched);
+        for (PrintStream stream : touched) {
+            stream.flush();
+        }
+    }
+
+    private static void print(PrintStream stream, StringBuilder text, List<PrintStream> touched) {
+        if (stream != null && text.length() > 0) {
+            stream.print(text);
+            if (!touched.contains(stream)) {
+                touched.add(stream);
+            }
+        }
+        text.setLength(0);
+    }
+
+    private static class Entry {
+
+        private static final int LINE = 0;
+        private static final int SHOW_PROMPT = 1;
+        private static final int HIDE_PROMPT = 2;
+        private static final int CLOSE = 3;
+
+        private final int type;
+        private final PrintStream stream;
+        private final String text;
+
+        private Entry(int type, PrintStream stream, String text) {
+            this.type = type;
+            this.stream = stream;
+            this.text = text;
+        }
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import org.apache.maven.Maven;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.LegacySupport;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Build engine running the builds inside the Maven JVM that hosts the dev
+ * session. The JVM, the plugin realms and the plugin descriptors stay warm
+ * between builds, so only the requested goals are paid for on each change.
+ * If the embedded build cannot be executed at all, as opposed to a failing
+ * build, the remaining builds are delegated to the fallback engine.
+ *
+ * @author Gaurav Gupta
+ */
+public class EmbeddedBuildEngine implements BuildEngine {
+
+    private static final String PROPERTY_PREFIX = "-D";
+    private static final String PROFILE_PREFIX = "-P";
+    private static final String PROJECTS_PREFIX = "--projects=";
+    private static final String ALSO_MAKE = "--also-make";
+
+    private final MavenSession session;
+    private final Maven maven;
+    private final LegacySupport legacySupport;
+    private final BuildEngine fallback;
+    private final Log log;
+    private volatile boolean unavailable;
+
+    public EmbeddedBuildEngine(MavenSession session, Maven maven, LegacySupport legacySupport, BuildEngine fallback, Log log) {
+        this.session = session;
+        this.maven = maven;
+        this.legacySupport = legacySupport;
+        this.fallback = fallback;
+        this.log = log;
+    }
+
+    @Override
+    public int execute(File pomFile, List<String> goals) throws Exception {
+        if (!unavailable) {
+            try {
+                return executeEmbedded(pomFile, goals);
+            } catch (RuntimeException | LinkageError ex) {
+                unavailable = true;
+                log.warn("Embedded build failed (" + ex + "), falling back to forked Maven builds.");
+                log.debug(ex);
+            }
+        }
+        return fallback.execute(pomFile, goals);
+    }
+
+    @Override
+    public boolean cancel() {
+        return unavailable && fallback.cancel();
+    }
+
+    private int executeEmbedded(File pomFile, List<String> goals) {
+        MavenExecutionRequest request = DefaultMavenExecutionRequest.copy(session.getRequest());
+        Properties userProperties = new Properties();
+        userProperties.putAll(session.getRequest().getUserProperties());
+        List<String> profiles = new ArrayList<>(session.getRequest().getActiveProfiles());
+        List<String> buildGoals = new ArrayList<>();
+        List<String> selectedProjects = new ArrayList<>();
+        String makeBehavior = null;
+        for (String goal : goals) {
+            goal = goal.trim();
+            if (goal.startsWith(PROPERTY_PREFIX)) {
+                String property = goal.substring(PROPERTY_PREFIX.length());
+                int splitIndex = property.indexOf('=');
+                if (splitIndex == -1) {
+                    userProperties.setProperty(property, Boolean.TRUE.toString());
+                } else {
+                    userProperties.setProperty(property.substring(0, splitIndex), unquote(property.substring(splitIndex + 1)));
+                }
+            } else if (goal.startsWith(PROFILE_PREFIX)) {
+                profiles.add(goal.substring(PROFILE_PREFIX.length()));
+            } else if (goal.startsWith(PROJECTS_PREFIX)) {
+                selectedProjects.addAll(Arrays.asList(goal.substring(PROJECTS_PREFIX.length()).split(",")));
+            } else if (goal.equals(ALSO_MAKE)) {
+                makeBehavior = MavenExecutionRequest.REACTOR_MAKE_UPSTREAM;
+            } else if (!goal.isEmpty()) {
+                buildGoals.add(goal);
+            }
+        }
+        request.setPom(pomFile);
+        request.setBaseDirectory(pomFile.getParentFile());
+        request.setGoals(buildGoals);
+        request.setUserProperties(userProperties);
+        request.setActiveProfiles(profiles);
+        request.setSelectedProjects(selectedProjects);
+        request.setExcludedProjects(new ArrayList<>());
+        request.setResumeFrom(null);
+        request.setMakeBehavior(makeBehavior);
+        request.setInteractiveMode(false);
+        request.setStartTime(new Date());
+
+        // the nested build replaces and finally clears the session of the outer build
+        MavenSession outerSession = legacySupport.getSession();
+        MavenExecutionResult result;
+        try {
+            result = maven.execute(request);
+        } finally {
+            legacySupport.setSession(outerSession);
+        }
+        if (result.hasExceptions()) {
+            for (Throwable exception : result.getExceptions()) {
+                log.error(exception.getMessage());
+                log.debug(exception);
+            }
+            return 1;
+        }
+        return 0;
+    }
+
+    private static String unquote(String value) {
+        if (value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+}
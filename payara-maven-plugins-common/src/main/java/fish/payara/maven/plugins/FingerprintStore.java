@@ -0,0 +1,255 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Fingerprints (size, modification time and a 64-bit content hash) of the
+ * project files as they were when last picked up by a build, used to drop
+ * change events of files rewritten with identical content.
+ * <p>
+ * Checking a change only hashes the content when size and modification time
+ * cannot tell whether the file changed. The store is persisted across dev
+ * sessions, dropping the fingerprints of files changed in between.
+ *
+ * @author Gaurav Gupta
+ */
+public class FingerprintStore {
+
+    private static final int VERSION = 1;
+    /**
+     * Modification times closer than this to the time a fingerprint was
+     * taken may hide a later change of the same size, e.g. on file systems
+     * with a coarse timestamp resolution.
+     */
+    private static final long RACY_INTERVAL = 2000;
+    private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+
+    private final Path baseDirectory;
+    private final Path storeFile;
+    private final Log log;
+    private final Map<String, Fingerprint> fingerprints = new HashMap<>();
+
+    public FingerprintStore(Path baseDirectory, Path storeFile, Log log) {
+        this.baseDirectory = baseDirectory;
+        this.storeFile = storeFile;
+        this.log = log;
+        load();
+    }
+
+    /**
+     * @return <code>false</code> if the file has the same content as when it
+     * was last recorded, <code>true</code> otherwise.
+     */
+    public synchronized boolean isModified(Path path) {
+        Fingerprint fingerprint = fingerprints.get(key(path));
+        if (fingerprint == null) {
+            return true;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            long modified = attributes.lastModifiedTime().toMillis();
+            if (attributes.size() != fingerprint.size) {
+                return true;
+            }
+            if (modified == fingerprint.modified && fingerprint.recorded - modified > RACY_INTERVAL) {
+                return false;
+            }
+            return hash(path) != fingerprint.hash;
+        } catch (IOException ex) {
+            return true;
+        }
+    }
+
+    /**
+     * Records the current content of the file, or forgets it if the file no
+     * longer exists.
+     */
+    public synchronized void record(Path path) {
+        String key = key(path);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            if (!attributes.isRegularFile()) {
+                fingerprints.remove(key);
+                return;
+            }
+            fingerprints.put(key, new Fingerprint(attributes.size(), attributes.lastModifiedTime().toMillis(),
+                    System.currentTimeMillis(), hash(path)));
+        } catch (NoSuchFileException ex) {
+            fingerprints.remove(key);
+        } catch (IOException ex) {
+            log.debug(ex);
+            fingerprints.remove(key);
+        }
+    }
+
+    private String key(Path path) {
+        return path.startsWith(baseDirectory) ? baseDirectory.relativize(path).toString() : path.toString();
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(storeFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(storeFile)))) {
+            if (in.readInt() != VERSION) {
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                Fingerprint fingerprint = new Fingerprint(in.readLong(), in.readLong(), in.readLong(), in.readLong());
+                if (isUnchanged(baseDirectory.resolve(key), fingerprint)) {
+                    fingerprints.put(key, fingerprint);
+                }
+            }
+            log.debug("Loaded " + fingerprints.size() + " of " + count + " file fingerprints from " + storeFile);
+        } catch (IOException ex) {
+            log.debug("Unable to load file fingerprints from " + storeFile, ex);
+            fingerprints.clear();
+        }
+    }
+
+    /**
+     * Files changed while no dev session was running have already been built
+     * with their new content at startup, so their fingerprints are outdated.
+     */
+    private static boolean isUnchanged(Path path, Fingerprint fingerprint) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            long modified = attributes.lastModifiedTime().toMillis();
+            return attributes.size() == fingerprint.size
+                    && modified == fingerprint.modified
+                    && fingerprint.recorded - modified > RACY_INTERVAL;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    public synchronized void save() {
+        try {
+            Files.createDirectories(storeFile.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(storeFile)))) {
+                out.writeInt(VERSION);
+                out.writeInt(fingerprints.size());
+                for (Map.Entry<String, Fingerprint> entry : fingerprints.entrySet()) {
+                    Fingerprint fingerprint = entry.getValue();
+                    out.writeUTF(entry.getKey());
+                    out.writeLong(fingerprint.size);
+                    out.writeLong(fingerprint.modified);
+                    out.writeLong(fingerprint.recorded);
+                    out.writeLong(fingerprint.hash);
+                }
+            }
+        } catch (IOException ex) {
+            log.debug("Unable to save file fingerprints to " + storeFile, ex);
+        }
+    }
+
+    /**
+     * Fast non-cryptographic 64-bit hash of the file content, mixing eight
+     * bytes at a time.
+     */
+    static long hash(Path path) throws IOException {
+        long hash = PRIME_1;
+        long length = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int read;
+            while ((read = channel.read(buffer)) != -1) {
+                length += read;
+                buffer.flip();
+                while (buffer.remaining() >= Long.BYTES) {
+                    hash = mix(hash, buffer.getLong());
+                }
+                buffer.compact();
+            }
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            hash = mix(hash, buffer.get() & 0xFF);
+        }
+        hash ^= length;
+        hash ^= hash >>> 33;
+        hash *= PRIME_2;
+        hash ^= hash >>> 29;
+        hash *= PRIME_1;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        hash ^= value * PRIME_2;
+        return Long.rotateLeft(hash, 31) * PRIME_1;
+    }
+
+    private static class Fingerprint {
+
+        private final long size;
+        private final long modified;
+        private final long recorded;
+        private final long hash;
+
+        private Fingerprint(long size, long modified, long recorded, long hash) {
+            this.size = size;
+            this.modified = modified;
+            this.recorded = recorded;
+            this.hash = hash;
+        }
+    }
+
+}
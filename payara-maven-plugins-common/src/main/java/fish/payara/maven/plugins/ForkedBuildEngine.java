@@ -0,0 +1,146 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import static fish.payara.maven.plugins.Configuration.MAVEN_MULTI_MODULE_PROJECT_DIRECTORY;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.shared.invoker.DefaultInvocationRequest;
+import org.apache.maven.shared.invoker.InvocationRequest;
+import org.apache.maven.shared.invoker.MavenCommandLineBuilder;
+import org.apache.maven.shared.utils.cli.Commandline;
+import org.apache.maven.shared.utils.cli.StreamPumper;
+
+/**
+ * Build engine launching a new Maven process for every build. The process
+ * is tracked, so that a cancelled build terminates the whole process tree
+ * instead of leaving it to write stale output.
+ *
+ * @author Gaurav Gupta
+ */
+public class ForkedBuildEngine implements BuildEngine {
+
+    /**
+     * Time given to the processes of a cancelled build to exit before they
+     * are killed.
+     */
+    private static final long TERMINATION_TIMEOUT = 5000;
+
+    private final Log log;
+    private volatile Process process;
+
+    public ForkedBuildEngine(Log log) {
+        this.log = log;
+    }
+
+    @Override
+    public int execute(File pomFile, List<String> goals) throws Exception {
+        InvocationRequest request = new DefaultInvocationRequest();
+        request.setPomFile(pomFile);
+        request.setGoals(goals);
+        System.setProperty(MAVEN_MULTI_MODULE_PROJECT_DIRECTORY, pomFile.getParent());
+        MavenCommandLineBuilder builder = new MavenCommandLineBuilder();
+        builder.setLogger(new InvokerLoggerImpl(log));
+        Commandline commandline = builder.build(request);
+        log.debug("Executing: " + commandline);
+
+        Process buildProcess = commandline.execute();
+        process = buildProcess;
+        buildProcess.getOutputStream().close();
+        StreamPumper outputPumper = new StreamPumper(buildProcess.getInputStream(), System.out::println);
+        StreamPumper errorPumper = new StreamPumper(buildProcess.getErrorStream(), System.err::println);
+        outputPumper.start();
+        errorPumper.start();
+        try {
+            int exitCode = buildProcess.waitFor();
+            outputPumper.waitUntilDone();
+            errorPumper.waitUntilDone();
+            return exitCode;
+        } catch (InterruptedException ex) {
+            destroy(buildProcess.toHandle());
+            throw ex;
+        } finally {
+            process = null;
+        }
+    }
+
+    @Override
+    public boolean cancel() {
+        Process buildProcess = process;
+        if (buildProcess == null || !buildProcess.isAlive()) {
+            return false;
+        }
+        destroy(buildProcess.toHandle());
+        return true;
+    }
+
+    /**
+     * Terminates the process and all its descendants, e.g. forked compilers
+     * and test JVMs, killing the ones still alive after the timeout.
+     */
+    private void destroy(ProcessHandle handle) {
+        List<ProcessHandle> processes = handle.descendants().collect(Collectors.toCollection(ArrayList::new));
+        processes.add(handle);
+        for (ProcessHandle processHandle : processes) {
+            processHandle.destroy();
+        }
+        try {
+            CompletableFuture.allOf(processes.stream()
+                    .map(ProcessHandle::onExit)
+                    .toArray(CompletableFuture[]::new))
+                    .get(TERMINATION_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            log.debug("Build processes did not exit in " + TERMINATION_TIMEOUT + " ms, killing them");
+        } catch (Exception ex) {
+            log.debug(ex);
+        }
+        for (ProcessHandle processHandle : processes) {
+            if (processHandle.isAlive()) {
+                processHandle.destroyForcibly();
+            }
+        }
+    }
+
+}
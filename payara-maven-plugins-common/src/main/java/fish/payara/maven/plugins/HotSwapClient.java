@@ -0,0 +1,295 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal JDWP client redefining classes in a JVM started with the
+ * <code>jdwp</code> agent listening for debuggers, i.e. HotSwap.
+ * <p>
+ * It speaks the few commands it needs directly over the socket, as the JDI
+ * API of the <code>jdk.jdi</code> module is not visible to the class loaders
+ * of Maven plugins. The connection is kept only for one redefinition, so
+ * that an IDE can still attach to the same agent in between.
+ *
+ * @author Gaurav Gupta
+ */
+public class HotSwapClient implements Closeable {
+
+    private static final byte[] HANDSHAKE = "JDWP-Handshake".getBytes(StandardCharsets.US_ASCII);
+    private static final Pattern ADDRESS_PATTERN = Pattern.compile("address=(?:([^,:]*):)?(\\d+)");
+    private static final int CONNECT_TIMEOUT = 2000;
+    private static final int READ_TIMEOUT = 30000;
+    private static final int REPLY_FLAG = 0x80;
+    private static final int VIRTUAL_MACHINE = 1;
+    private static final int CLASSES_BY_SIGNATURE = 2;
+    private static final int DISPOSE = 6;
+    private static final int ID_SIZES = 7;
+    private static final int CAPABILITIES_NEW = 17;
+    private static final int REDEFINE_CLASSES = 18;
+    private static final int CAN_REDEFINE_CLASSES = 7;
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private int nextId;
+    private int referenceTypeIdSize;
+
+    private HotSwapClient(InetSocketAddress address) throws IOException {
+        socket = new Socket();
+        try {
+            socket.connect(address, CONNECT_TIMEOUT);
+            socket.setSoTimeout(READ_TIMEOUT);
+            socket.setTcpNoDelay(true);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.write(HANDSHAKE);
+            out.flush();
+            byte[] handshake = new byte[HANDSHAKE.length];
+            in.readFully(handshake);
+            for (int i = 0; i < HANDSHAKE.length; i++) {
+                if (handshake[i] != HANDSHAKE[i]) {
+                    throw new IOException("Unexpected JDWP handshake from " + address);
+                }
+            }
+        } catch (IOException ex) {
+            socket.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * @param jdwpOption the <code>-agentlib:jdwp</code> option the JVM was
+     * started with.
+     * @return the address the agent listens on for debuggers, or
+     * <code>null</code> if the agent does not listen.
+     */
+    public static InetSocketAddress getAddress(String jdwpOption) {
+        if (jdwpOption == null || !jdwpOption.contains("jdwp") || !jdwpOption.contains("server=y")) {
+            return null;
+        }
+        Matcher matcher = ADDRESS_PATTERN.matcher(jdwpOption);
+        if (!matcher.find()) {
+            return null;
+        }
+        String host = matcher.group(1);
+        if (host == null || host.isEmpty() || host.equals("*") || host.equals("0.0.0.0")) {
+            host = "localhost";
+        }
+        return new InetSocketAddress(host, Integer.parseInt(matcher.group(2)));
+    }
+
+    /**
+     * Redefines the loaded classes with the given class files. Classes not
+     * loaded yet are skipped, as they will be loaded from the updated class
+     * files.
+     *
+     * @param classes the class files by internal class name.
+     * @return the number of loaded classes redefined.
+     * @throws IOException if the JVM cannot be reached or rejects the
+     * redefinition, e.g. as the schema of a class changed.
+     */
+    public static int redefine(InetSocketAddress address, Map<String, byte[]> classes) throws IOException {
+        try (HotSwapClient client = new HotSwapClient(address)) {
+            return client.redefine(classes);
+        }
+    }
+
+    private int redefine(Map<String, byte[]> classes) throws IOException {
+        DataInputStream sizes = command(ID_SIZES, new byte[0]);
+        sizes.readInt(); // fieldIDSize
+        sizes.readInt(); // methodIDSize
+        sizes.readInt(); // objectIDSize
+        referenceTypeIdSize = sizes.readInt();
+        DataInputStream capabilities = command(CAPABILITIES_NEW, new byte[0]);
+        capabilities.skipBytes(CAN_REDEFINE_CLASSES);
+        if (!capabilities.readBoolean()) {
+            throw new IOException("The JVM cannot redefine classes");
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream redefinitions = new DataOutputStream(buffer);
+        int count = 0;
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            for (long referenceType : getReferenceTypes(entry.getKey())) {
+                writeId(redefinitions, referenceType, referenceTypeIdSize);
+                redefinitions.writeInt(entry.getValue().length);
+                redefinitions.write(entry.getValue());
+                count++;
+            }
+        }
+        if (count > 0) {
+            ByteArrayOutputStream data = new ByteArrayOutputStream(buffer.size() + 4);
+            new DataOutputStream(data).writeInt(count);
+            buffer.writeTo(data);
+            command(REDEFINE_CLASSES, data.toByteArray());
+        }
+        return count;
+    }
+
+    /**
+     * @return the loaded classes of the given name, one per defining class
+     * loader.
+     */
+    private List<Long> getReferenceTypes(String className) throws IOException {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        writeString(new DataOutputStream(data), "L" + className + ";");
+        DataInputStream reply = command(CLASSES_BY_SIGNATURE, data.toByteArray());
+        int count = reply.readInt();
+        List<Long> referenceTypes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            reply.readByte(); // refTypeTag
+            referenceTypes.add(readId(reply, referenceTypeIdSize));
+            reply.readInt(); // status
+        }
+        return referenceTypes;
+    }
+
+    private DataInputStream command(int command, byte[] data) throws IOException {
+        int id = ++nextId;
+        out.writeInt(11 + data.length);
+        out.writeInt(id);
+        out.writeByte(0);
+        out.writeByte(VIRTUAL_MACHINE);
+        out.writeByte(command);
+        out.write(data);
+        out.flush();
+        while (true) {
+            int length = in.readInt();
+            int replyId = in.readInt();
+            int flags = in.readUnsignedByte();
+            byte[] reply;
+            if ((flags & REPLY_FLAG) != 0) {
+                int errorCode = in.readUnsignedShort();
+                reply = new byte[length - 11];
+                in.readFully(reply);
+                if (replyId != id) {
+                    continue;
+                }
+                if (errorCode != 0) {
+                    throw new IOException("JDWP error " + getErrorName(errorCode));
+                }
+                return new DataInputStream(new ByteArrayInputStream(reply));
+            }
+            // events sent by the agent, e.g. on attach
+            in.skipBytes(2);
+            reply = new byte[length - 11];
+            in.readFully(reply);
+        }
+    }
+
+    private static String getErrorName(int errorCode) {
+        switch (errorCode) {
+            case 60:
+                return "INVALID_CLASS_FORMAT";
+            case 62:
+                return "FAILS_VERIFICATION";
+            case 63:
+                return "ADD_METHOD_NOT_IMPLEMENTED";
+            case 64:
+                return "SCHEMA_CHANGE_NOT_IMPLEMENTED";
+            case 66:
+                return "HIERARCHY_CHANGE_NOT_IMPLEMENTED";
+            case 67:
+                return "DELETE_METHOD_NOT_IMPLEMENTED";
+            case 68:
+                return "UNSUPPORTED_VERSION";
+            case 69:
+                return "NAMES_DONT_MATCH";
+            case 70:
+                return "CLASS_MODIFIERS_CHANGE_NOT_IMPLEMENTED";
+            case 71:
+                return "METHOD_MODIFIERS_CHANGE_NOT_IMPLEMENTED";
+            case 72:
+                return "CLASS_ATTRIBUTE_CHANGE_NOT_IMPLEMENTED";
+            case 99:
+                return "NOT_IMPLEMENTED";
+            default:
+                return String.valueOf(errorCode);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeId(DataOutputStream out, long id, int size) throws IOException {
+        for (int shift = (size - 1) * 8; shift >= 0; shift -= 8) {
+            out.writeByte((int) (id >>> shift));
+        }
+    }
+
+    private static long readId(DataInputStream in, int size) throws IOException {
+        long id = 0;
+        for (int i = 0; i < size; i++) {
+            id = (id << 8) | in.readUnsignedByte();
+        }
+        return id;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            command(DISPOSE, new byte[0]);
+        } catch (IOException ex) {
+            // the connection is closed anyway
+        } finally {
+            socket.close();
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the source roots natively and polls the rest of the project, used
+ * when the whole project tree exceeds the native watch limits.
+ *
+ * @author Gaurav Gupta
+ */
+public class HybridFileWatcher implements FileWatcher {
+
+    private final FileWatcher sourceWatcher;
+    private final PollingFileWatcher projectWatcher;
+
+    public HybridFileWatcher(FileWatcher sourceWatcher, PollingFileWatcher projectWatcher) {
+        this.sourceWatcher = sourceWatcher;
+        this.projectWatcher = projectWatcher;
+    }
+
+    @Override
+    public List<FileChange> poll(long timeout, TimeUnit unit) throws IOException, InterruptedException {
+        long wait = Math.min(unit.toMillis(timeout), projectWatcher.getNextScanDelay());
+        List<FileChange> changes = new ArrayList<>(sourceWatcher.poll(wait, TimeUnit.MILLISECONDS));
+        changes.addAll(projectWatcher.poll(0, TimeUnit.MILLISECONDS));
+        return changes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sourceWatcher.close();
+        } finally {
+            projectWatcher.close();
+        }
+    }
+
+}
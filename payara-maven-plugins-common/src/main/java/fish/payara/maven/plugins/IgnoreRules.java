@@ -0,0 +1,249 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled set of ignore patterns in the <code>.gitignore</code> syntax,
+ * deciding which project paths are neither watched nor built.
+ * <p>
+ * Literal anchored patterns are stored in a trie of path segments, literal
+ * file names in a map and only the patterns with wildcards are matched as
+ * regular expressions. As in git, the last matching pattern wins and a path
+ * inside an ignored directory cannot be re-included.
+ *
+ * @author Gaurav Gupta
+ */
+public class IgnoreRules {
+
+    private final Path baseDirectory;
+    private final Node root = new Node();
+    private final Map<String, Node> names = new HashMap<>();
+    private final List<Glob> globs = new ArrayList<>();
+    private final List<Boolean> negated = new ArrayList<>();
+
+    public IgnoreRules(Path baseDirectory) {
+        this.baseDirectory = baseDirectory;
+    }
+
+    /**
+     * Adds the patterns of an ignore file, if it exists.
+     */
+    public void addAll(Path ignoreFile) throws IOException {
+        if (Files.isRegularFile(ignoreFile)) {
+            for (String line : Files.readAllLines(ignoreFile, StandardCharsets.UTF_8)) {
+                add(line);
+            }
+        }
+    }
+
+    /**
+     * Adds a pattern, relative to the base directory when it contains a
+     * <code>/</code> other than a trailing one, matching names at any level
+     * otherwise.
+     */
+    public void add(String pattern) {
+        String line = pattern.trim();
+        if (line.isEmpty() || line.startsWith("#")) {
+            return;
+        }
+        boolean negation = line.startsWith("!");
+        if (negation || line.startsWith("\\!") || line.startsWith("\\#")) {
+            line = line.substring(1);
+        }
+        boolean directoryOnly = line.endsWith("/");
+        while (line.endsWith("/")) {
+            line = line.substring(0, line.length() - 1);
+        }
+        if (line.startsWith("**/") && line.indexOf('/', 3) == -1) {
+            line = line.substring(3);
+        }
+        boolean anchored = line.indexOf('/') != -1;
+        while (line.startsWith("/")) {
+            line = line.substring(1);
+        }
+        if (line.isEmpty()) {
+            return;
+        }
+
+        int index = negated.size();
+        negated.add(negation);
+        if (line.matches(".*[*?\\[\\\\].*")) {
+            globs.add(new Glob(Pattern.compile(toRegex(line)), anchored, directoryOnly, index));
+        } else if (anchored) {
+            Node node = root;
+            for (String segment : line.split("/")) {
+                node = node.children.computeIfAbsent(segment, k -> new Node());
+            }
+            node.add(index, directoryOnly);
+        } else {
+            names.computeIfAbsent(line, k -> new Node()).add(index, directoryOnly);
+        }
+    }
+
+    /**
+     * @param path the path to check.
+     * @param directory whether the path is a directory.
+     * @return <code>true</code> if the path or one of its parent directories
+     * is ignored.
+     */
+    public boolean isIgnored(Path path, boolean directory) {
+        if (!path.startsWith(baseDirectory) || path.equals(baseDirectory)) {
+            return false;
+        }
+        Path relative = baseDirectory.relativize(path);
+        int count = relative.getNameCount();
+        Node node = root;
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            String name = relative.getName(i).toString();
+            boolean isDirectory = i < count - 1 || directory;
+            if (i > 0) {
+                prefix.append('/');
+            }
+            prefix.append(name);
+
+            int match = -1;
+            if (node != null) {
+                node = node.children.get(name);
+                if (node != null) {
+                    match = node.getIndex(isDirectory);
+                }
+            }
+            Node nameNode = names.get(name);
+            if (nameNode != null) {
+                match = Math.max(match, nameNode.getIndex(isDirectory));
+            }
+            for (Glob glob : globs) {
+                if (glob.index > match
+                        && (isDirectory || !glob.directoryOnly)
+                        && glob.pattern.matcher(glob.anchored ? prefix : name).matches()) {
+                    match = glob.index;
+                }
+            }
+            if (match != -1 && !negated.get(match)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String toRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    i++;
+                    if (i + 1 < glob.length() && glob.charAt(i + 1) == '/') {
+                        i++;
+                        regex.append("(?:.*/)?");
+                    } else {
+                        regex.append(".*");
+                    }
+                } else {
+                    regex.append("[^/]*");
+                }
+            } else if (c == '?') {
+                regex.append("[^/]");
+            } else if (c == '[') {
+                int end = glob.indexOf(']', i + 2);
+                if (end == -1) {
+                    regex.append("\\[");
+                } else {
+                    String range = glob.substring(i + 1, end);
+                    if (range.startsWith("!")) {
+                        range = "^" + range.substring(1);
+                    }
+                    regex.append('[').append(range.replace("\\", "\\\\")).append(']');
+                    i = end;
+                }
+            } else if (c == '\\' && i + 1 < glob.length()) {
+                regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return regex.toString();
+    }
+
+    private static class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+        private int index = -1;
+        private int directoryIndex = -1;
+
+        private void add(int ruleIndex, boolean directoryOnly) {
+            if (directoryOnly) {
+                directoryIndex = ruleIndex;
+            } else {
+                index = ruleIndex;
+            }
+        }
+
+        private int getIndex(boolean directory) {
+            return directory ? Math.max(index, directoryIndex) : index;
+        }
+    }
+
+    private static class Glob {
+
+        private final Pattern pattern;
+        private final boolean anchored;
+        private final boolean directoryOnly;
+        private final int index;
+
+        private Glob(Pattern pattern, boolean anchored, boolean directoryOnly, int index) {
+            this.pattern = pattern;
+            this.anchored = anchored;
+            this.directoryOnly = directoryOnly;
+            this.index = index;
+        }
+    }
+
+}
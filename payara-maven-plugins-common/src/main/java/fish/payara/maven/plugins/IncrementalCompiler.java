@@ -0,0 +1,496 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.DependencyResolutionResult;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.project.ProjectBuildingResult;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.Dependency;
+
+/**
+ * Compiles modified sources with the system Java compiler inside the Maven
+ * JVM, straight into the exploded application. The compiler, its file manager
+ * and the opened classpath archives are kept for the whole dev session and
+ * only rebuilt when the project descriptor changes.
+ * <p>
+ * A {@link ClassDependencyIndex} of the output directory decides what else
+ * has to be recompiled: the dependents of every class whose API changed are
+ * compiled in a following round, and a change of compile-time constants
+ * recompiles all the sources as their users do not reference the declaring
+ * class.
+ *
+ * @author Gaurav Gupta
+ */
+public class IncrementalCompiler {
+
+    private static final String COMPILER_PLUGIN = "org.apache.maven.plugins:maven-compiler-plugin";
+    private static final String DEFAULT_SOURCE_LEVEL = "1.8";
+    private static final List<String> COMPILE_SCOPES = List.of("compile", "provided", "system");
+    private static final String CLASS_FILE_EXTENSION = ".class";
+    private static final String JAVA_FILE_EXTENSION = ".java";
+
+    private final MavenProject project;
+    private final MavenSession session;
+    private final ProjectBuilder projectBuilder;
+    private final Log log;
+    private final JavaCompiler compiler;
+    private StandardJavaFileManager fileManager;
+    private File outputDirectory;
+    private List<String> options;
+    private List<Path> sourceRoots;
+    private ClassDependencyIndex index;
+    private boolean disabled;
+    private final Map<String, File> libraryOverrides = new HashMap<>();
+    private final Map<String, byte[]> compiledClasses = new HashMap<>();
+    private boolean redefinable;
+
+    public IncrementalCompiler(MavenProject project, MavenSession session, ProjectBuilder projectBuilder, Log log) {
+        this.project = project;
+        this.session = session;
+        this.projectBuilder = projectBuilder;
+        this.log = log;
+        this.compiler = ToolProvider.getSystemJavaCompiler();
+    }
+
+    public synchronized boolean isAvailable() {
+        return compiler != null && session != null && projectBuilder != null && !disabled;
+    }
+
+    /**
+     * Turns the in-process compilation off for the rest of the session, e.g.
+     * when the project needs a compiler setup that only Maven can provide.
+     */
+    public synchronized void disable() {
+        disabled = true;
+        invalidate();
+    }
+
+    /**
+     * Compiles against the given archive instead of the resolved artifact,
+     * e.g. a reactor module rebuilt during the dev session. The classpath is
+     * reopened as the archive may have been rewritten.
+     *
+     * @param id the <code>groupId:artifactId</code> of the artifact.
+     */
+    public synchronized void overrideLibrary(String id, File archive) {
+        libraryOverrides.put(id, archive);
+        invalidate();
+    }
+
+    /**
+     * Drops the cached file manager and compiler options, to be called when
+     * the project descriptor changes.
+     */
+    public synchronized void invalidate() {
+        if (fileManager != null) {
+            try {
+                fileManager.close();
+            } catch (IOException ex) {
+                log.debug(ex);
+            }
+        }
+        fileManager = null;
+        outputDirectory = null;
+        options = null;
+        sourceRoots = null;
+        index = null;
+    }
+
+    /**
+     * Drops the class dependency index, to be called when the output
+     * directory was rebuilt by other means than this compiler.
+     */
+    public synchronized void resetIndex() {
+        index = null;
+    }
+
+    /**
+     * Compiles the given sources into the output directory.
+     *
+     * @param sources the modified source files, their dependents are
+     * compiled as well when needed.
+     * @param outputDirectory the classes directory of the exploded application.
+     * @return <code>true</code> if the compilation succeeded,
+     * <code>false</code> if the sources have compilation errors.
+     * @throws Exception if the compiler could not be set up for the project.
+     */
+    public synchronized boolean compile(Collection<File> sources, File outputDirectory) throws Exception {
+        compiledClasses.clear();
+        redefinable = false;
+        if (!isAvailable()) {
+            throw new IllegalStateException("In-process compiler is not available");
+        }
+        if (fileManager == null || !outputDirectory.equals(this.outputDirectory)) {
+            open(outputDirectory);
+        }
+        if (index == null) {
+            long startTime = System.currentTimeMillis();
+            index = ClassDependencyIndex.scan(outputDirectory.toPath());
+            log.debug("Indexed " + index.size() + " classes in " + (System.currentTimeMillis() - startTime) + " ms");
+        }
+        redefinable = true;
+
+        Set<File> compiled = new HashSet<>();
+        Set<File> pending = new LinkedHashSet<>(sources);
+        boolean fullCompile = false;
+        while (!pending.isEmpty()) {
+            Set<String> writtenClasses = new HashSet<>();
+            boolean success = runCompiler(pending, writtenClasses);
+            Set<String> changedClasses = new HashSet<>();
+            boolean constantsChanged = updateIndex(success ? pending : Collections.<File>emptySet(), writtenClasses, changedClasses);
+            if (!success) {
+                redefinable = false;
+                return false;
+            }
+            compiled.addAll(pending);
+            pending = new LinkedHashSet<>();
+            if (fullCompile) {
+                break;
+            } else if (constantsChanged) {
+                redefinable = false;
+                fullCompile = true;
+                pending.addAll(getAllSources());
+                pending.removeAll(compiled);
+                log.info("Compile-time constants changed, recompiling " + pending.size() + " source files");
+            } else {
+                for (String className : changedClasses) {
+                    for (String dependent : index.getDependents(className)) {
+                        File source = findSource(index.get(dependent));
+                        if (source != null && !compiled.contains(source)) {
+                            pending.add(source);
+                        }
+                    }
+                }
+                if (!pending.isEmpty()) {
+                    log.info("API of " + changedClasses + " changed, recompiling dependents: " + pending);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the classes written by the last compilation by internal name,
+     * if all of them replace a class of the same schema so that they can be
+     * redefined in place in a running JVM, or <code>null</code> otherwise.
+     */
+    public synchronized Map<String, byte[]> getRedefinableClasses() {
+        return redefinable && !compiledClasses.isEmpty() ? new HashMap<>(compiledClasses) : null;
+    }
+
+    private boolean runCompiler(Collection<File> sources, Set<String> writtenClasses) {
+        JavaFileManager recordingFileManager = new ForwardingJavaFileManager<JavaFileManager>(fileManager) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String className,
+                    JavaFileObject.Kind kind, FileObject sibling) throws IOException {
+                if (kind == JavaFileObject.Kind.CLASS) {
+                    writtenClasses.add(className.replace('.', '/'));
+                }
+                return super.getJavaFileForOutput(location, className, kind, sibling);
+            }
+        };
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(sources);
+        boolean success = compiler.getTask(null, recordingFileManager, diagnostics, options, null, compilationUnits).call();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            String message = format(diagnostic);
+            switch (diagnostic.getKind()) {
+                case ERROR:
+                    log.error(message);
+                    break;
+                case WARNING:
+                case MANDATORY_WARNING:
+                    log.warn(message);
+                    break;
+                default:
+                    log.debug(message);
+            }
+        }
+        return success;
+    }
+
+    /**
+     * Updates the index with the written classes and deletes the classes no
+     * longer produced by the compiled sources.
+     *
+     * @return <code>true</code> if compile-time constants of a class changed.
+     */
+    private boolean updateIndex(Collection<File> compiledSources, Set<String> writtenClasses,
+            Set<String> changedClasses) throws IOException {
+        Path output = outputDirectory.toPath();
+        Set<String> previousClasses = new HashSet<>();
+        for (File source : compiledSources) {
+            String sourceFile = getRelativeSource(source);
+            if (sourceFile != null) {
+                previousClasses.addAll(index.getClassesOf(sourceFile));
+            }
+        }
+        boolean constantsChanged = false;
+        for (String className : writtenClasses) {
+            byte[] bytes = Files.readAllBytes(output.resolve(className + CLASS_FILE_EXTENSION));
+            ClassDependencyIndex.ClassInfo info = ClassDependencyIndex.parse(bytes);
+            ClassDependencyIndex.ClassInfo previous = index.get(className);
+            if (previous == null || previous.getApiHash() != info.getApiHash()) {
+                changedClasses.add(className);
+            }
+            if (previous == null || previous.getSchemaHash() != info.getSchemaHash()) {
+                redefinable = false;
+            }
+            compiledClasses.put(className, bytes);
+            if (previous != null && previous.getConstantsHash() != info.getConstantsHash()) {
+                constantsChanged = true;
+            }
+            index.update(info);
+            previousClasses.remove(className);
+        }
+        for (String className : previousClasses) {
+            log.debug("Removing stale class " + className);
+            redefinable = false;
+            Files.deleteIfExists(output.resolve(className + CLASS_FILE_EXTENSION));
+            index.remove(className);
+            changedClasses.add(className);
+        }
+        return constantsChanged;
+    }
+
+    private String getRelativeSource(File source) {
+        Path path = source.toPath().toAbsolutePath();
+        for (Path root : sourceRoots) {
+            if (path.startsWith(root)) {
+                return root.relativize(path).toString().replace(File.separatorChar, '/');
+            }
+        }
+        return null;
+    }
+
+    private File findSource(ClassDependencyIndex.ClassInfo info) {
+        if (info == null || info.getSourceFile() == null) {
+            return null;
+        }
+        for (Path root : sourceRoots) {
+            Path source = root.resolve(info.getSourceFile());
+            if (Files.isRegularFile(source)) {
+                return source.toFile();
+            }
+        }
+        return null;
+    }
+
+    private List<File> getAllSources() throws IOException {
+        List<File> sources = new ArrayList<>();
+        for (Path root : sourceRoots) {
+            if (Files.isDirectory(root)) {
+                try (Stream<Path> paths = Files.walk(root)) {
+                    paths.filter(path -> path.toString().endsWith(JAVA_FILE_EXTENSION))
+                            .forEach(path -> sources.add(path.toFile()));
+                }
+            }
+        }
+        return sources;
+    }
+
+    private void open(File outputDirectory) throws Exception {
+        invalidate();
+        ProjectBuildingRequest request = new DefaultProjectBuildingRequest(session.getProjectBuildingRequest());
+        request.setProject(null);
+        request.setResolveDependencies(true);
+        ProjectBuildingResult result = projectBuilder.build(project.getFile(), request);
+        MavenProject resolvedProject = result.getProject();
+
+        List<File> classpath = new ArrayList<>();
+        classpath.add(outputDirectory);
+        classpath.addAll(getCompileClasspath(result.getDependencyResolutionResult()));
+        List<String> compilerOptions = getCompilerOptions(resolvedProject);
+        File generatedSources = getGeneratedSourcesDirectory(resolvedProject);
+        Files.createDirectories(generatedSources.toPath());
+        compilerOptions.add("-s");
+        compilerOptions.add(generatedSources.getAbsolutePath());
+        String encoding = getConfiguration(resolvedProject, "encoding", "project.build.sourceEncoding");
+
+        StandardJavaFileManager manager = compiler.getStandardFileManager(null, Locale.getDefault(),
+                encoding != null ? Charset.forName(encoding) : null);
+        manager.setLocation(StandardLocation.CLASS_PATH, classpath);
+        manager.setLocation(StandardLocation.SOURCE_PATH, Collections.<File>emptyList());
+        manager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(outputDirectory));
+        log.debug("In-process compiler options: " + compilerOptions);
+        log.debug("In-process compiler classpath: " + classpath);
+
+        this.fileManager = manager;
+        this.outputDirectory = outputDirectory;
+        this.options = compilerOptions;
+        this.sourceRoots = new ArrayList<>();
+        for (String root : resolvedProject.getCompileSourceRoots()) {
+            this.sourceRoots.add(new File(root).toPath().toAbsolutePath());
+        }
+    }
+
+    private List<File> getCompileClasspath(DependencyResolutionResult resolution) {
+        if (resolution == null) {
+            throw new IllegalStateException("Dependencies of " + project.getId() + " are not resolved");
+        }
+        if (!resolution.getCollectionErrors().isEmpty() || !resolution.getUnresolvedDependencies().isEmpty()) {
+            throw new IllegalStateException("Unable to resolve dependencies " + resolution.getUnresolvedDependencies());
+        }
+        List<File> classpath = new ArrayList<>();
+        for (Dependency dependency : resolution.getDependencies()) {
+            Artifact artifact = dependency.getArtifact();
+            File file = libraryOverrides.getOrDefault(artifact.getGroupId() + ":" + artifact.getArtifactId(), artifact.getFile());
+            if (COMPILE_SCOPES.contains(dependency.getScope())
+                    && file != null
+                    && !"pom".equals(artifact.getExtension())) {
+                classpath.add(file);
+            }
+        }
+        return classpath;
+    }
+
+    private List<String> getCompilerOptions(MavenProject project) {
+        if (getPluginConfiguration(project, "annotationProcessorPaths") != null) {
+            throw new IllegalStateException("annotationProcessorPaths is only supported by the Maven build");
+        }
+        List<String> compilerOptions = new ArrayList<>();
+        compilerOptions.add("-g");
+        String release = getConfiguration(project, "release", "maven.compiler.release");
+        String source = getConfiguration(project, "source", "maven.compiler.source");
+        String target = getConfiguration(project, "target", "maven.compiler.target");
+        // like the Maven build, the platform API is only restricted by an explicit release
+        if (release != null && compiler.isSupportedOption("--release") >= 0) {
+            compilerOptions.add("--release");
+            compilerOptions.add(release);
+        } else {
+            compilerOptions.add("-source");
+            compilerOptions.add(release != null ? release : source != null ? source : DEFAULT_SOURCE_LEVEL);
+            compilerOptions.add("-target");
+            compilerOptions.add(release != null ? release : target != null ? target : DEFAULT_SOURCE_LEVEL);
+        }
+        if (Boolean.parseBoolean(getConfiguration(project, "parameters", "maven.compiler.parameters"))) {
+            compilerOptions.add("-parameters");
+        }
+        String proc = getConfiguration(project, "proc", "maven.compiler.proc");
+        if (proc != null) {
+            compilerOptions.add("-proc:" + proc);
+        }
+        Xpp3Dom compilerArgs = getPluginConfiguration(project, "compilerArgs");
+        if (compilerArgs != null) {
+            for (Xpp3Dom arg : compilerArgs.getChildren()) {
+                if (arg.getValue() != null) {
+                    compilerOptions.add(arg.getValue().trim());
+                }
+            }
+        }
+        return compilerOptions;
+    }
+
+    private static File getGeneratedSourcesDirectory(MavenProject project) {
+        Xpp3Dom value = getPluginConfiguration(project, "generatedSourcesDirectory");
+        if (value != null && value.getValue() != null && !value.getValue().trim().isEmpty()) {
+            File directory = new File(value.getValue().trim());
+            return directory.isAbsolute() ? directory : new File(project.getBasedir(), directory.getPath());
+        }
+        return new File(project.getBuild().getDirectory(), "generated-sources" + File.separator + "annotations");
+    }
+
+    private String getConfiguration(MavenProject project, String parameter, String property) {
+        Xpp3Dom value = getPluginConfiguration(project, parameter);
+        if (value != null && value.getValue() != null && !value.getValue().trim().isEmpty()) {
+            return value.getValue().trim();
+        }
+        String propertyValue = session.getUserProperties().getProperty(property);
+        if (propertyValue == null) {
+            propertyValue = project.getProperties().getProperty(property);
+        }
+        return propertyValue != null && !propertyValue.trim().isEmpty() ? propertyValue.trim() : null;
+    }
+
+    private static Xpp3Dom getPluginConfiguration(MavenProject project, String parameter) {
+        Plugin plugin = project.getBuild().getPluginsAsMap().get(COMPILER_PLUGIN);
+        if (plugin != null && plugin.getConfiguration() instanceof Xpp3Dom) {
+            return ((Xpp3Dom) plugin.getConfiguration()).getChild(parameter);
+        }
+        return null;
+    }
+
+    private static String format(Diagnostic<? extends JavaFileObject> diagnostic) {
+        StringBuilder message = new StringBuilder();
+        if (diagnostic.getSource() != null) {
+            message.append(diagnostic.getSource().getName())
+                    .append(":[")
+                    .append(diagnostic.getLineNumber())
+                    .append(',')
+                    .append(diagnostic.getColumnNumber())
+                    .append("] ");
+        }
+        return message.append(diagnostic.getMessage(Locale.getDefault())).toString();
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+/**
+ * A server log line in the uniform log format
+ * <code>[timestamp] [product] [LEVEL] ... [levelValue: n] message</code>,
+ * tokenized in a single left to right pass over its bracketed fields.
+ *
+ * @author Gaurav Gupta
+ */
+public class LogLine {
+
+    private static final String[] LEVELS = {"INFO", "WARNING", "SEVERE"};
+    private static final String LEVEL_VALUE = "levelValue: ";
+
+    private final String timestamp;
+    private final String level;
+    private final String message;
+
+    private LogLine(String timestamp, String level, String message) {
+        this.timestamp = timestamp;
+        this.level = level;
+        this.message = message;
+    }
+
+    /**
+     * @return the tokenized line, or <code>null</code> if the line is not in
+     * the uniform log format.
+     */
+    public static LogLine parse(String line) {
+        int open = line.indexOf('[');
+        int close = -1;
+        while (open != -1) {
+            close = indexOfBracket(line, open + 1);
+            if (close == -1) {
+                return null;
+            }
+            if (line.charAt(close) == ']') {
+                break;
+            }
+            open = close;
+        }
+        if (open == -1) {
+            return null;
+        }
+        String timestamp = substringTrimmed(line, open + 1, close);
+
+        String level = null;
+        int position = close + 1;
+        while ((open = line.indexOf('[', position)) != -1) {
+            close = line.indexOf(']', open + 1);
+            if (close == -1) {
+                return null;
+            }
+            if (level == null) {
+                level = getLevel(line, open + 1, close);
+            } else if (isLevelValue(line, open + 1, close)) {
+                return new LogLine(timestamp, level, substringTrimmed(line, close + 1, line.length()));
+            }
+            position = close + 1;
+        }
+        return null;
+    }
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return the time of day part of the ISO-8601 timestamp, without the
+     * date and the zone offset.
+     */
+    public String getTime() {
+        int start = timestamp.indexOf('T') + 1;
+        int end = timestamp.indexOf('+', start);
+        if (end == -1) {
+            end = timestamp.indexOf('-', start);
+        }
+        return timestamp.substring(start, end == -1 ? timestamp.length() : end);
+    }
+
+    private static int indexOfBracket(String line, int from) {
+        for (int i = from; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '[' || c == ']') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The level may be surrounded by spaces or ANSI color codes.
+     */
+    private static String getLevel(String line, int start, int end) {
+        for (int i = start; i < end; i++) {
+            for (String level : LEVELS) {
+                if (line.charAt(i) == level.charAt(0)
+                        && i + level.length() <= end
+                        && line.startsWith(level, i)) {
+                    return level;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isLevelValue(String line, int start, int end) {
+        int digits = start + LEVEL_VALUE.length();
+        if (digits >= end || !line.startsWith(LEVEL_VALUE, start)) {
+            return false;
+        }
+        for (int i = digits; i < end; i++) {
+            if (!Character.isDigit(line.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String substringTrimmed(String line, int start, int end) {
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return line.substring(start, end);
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registry of log line matchers, each bound to a literal marker. All markers
+ * are searched together in a single scan of the line, after which the actions
+ * of the markers found run in registration order until one of them accepts
+ * the line.
+ *
+ * @author Gaurav Gupta
+ */
+public class LogMatchers {
+
+    private static final int MAX_MARKERS = Long.SIZE;
+
+    private final List<String> markers = new ArrayList<>();
+    private final List<Matcher> matchers = new ArrayList<>();
+    private final int[][] markersByFirstChar = new int[128][];
+
+    /**
+     * Registers an action for the lines containing the marker.
+     *
+     * @param marker the literal text to search.
+     * @param action the action, returning <code>false</code> to let the next
+     * matching action handle the line.
+     */
+    public LogMatchers add(String marker, Action action) {
+        if (marker.isEmpty() || marker.charAt(0) >= markersByFirstChar.length) {
+            throw new IllegalArgumentException("Unsupported log marker: " + marker);
+        }
+        int index = markers.indexOf(marker);
+        if (index == -1) {
+            if (markers.size() == MAX_MARKERS) {
+                throw new IllegalStateException("Too many log markers");
+            }
+            index = markers.size();
+            markers.add(marker);
+            char first = marker.charAt(0);
+            int[] candidates = markersByFirstChar[first];
+            int[] updated = new int[candidates == null ? 1 : candidates.length + 1];
+            if (candidates != null) {
+                System.arraycopy(candidates, 0, updated, 0, candidates.length);
+            }
+            updated[updated.length - 1] = index;
+            markersByFirstChar[first] = updated;
+        }
+        matchers.add(new Matcher(index, action));
+        return this;
+    }
+
+    /**
+     * @return <code>true</code> if an action accepted the line.
+     */
+    public boolean match(String line) throws IOException {
+        long found = scan(line);
+        if (found == 0) {
+            return false;
+        }
+        for (Matcher matcher : matchers) {
+            if ((found & (1L << matcher.marker)) != 0 && matcher.action.apply(line)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long scan(String line) {
+        long found = 0;
+        int length = line.length();
+        for (int i = 0; i < length; i++) {
+            char c = line.charAt(i);
+            int[] candidates = c < markersByFirstChar.length ? markersByFirstChar[c] : null;
+            if (candidates != null) {
+                for (int marker : candidates) {
+                    long bit = 1L << marker;
+                    if ((found & bit) == 0 && line.startsWith(markers.get(marker), i)) {
+                        found |= bit;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    @FunctionalInterface
+    public interface Action {
+
+        boolean apply(String line) throws IOException;
+    }
+
+    private static class Matcher {
+
+        private final int marker;
+        private final Action action;
+
+        private Matcher(int marker, Action action) {
+            this.marker = marker;
+            this.action = action;
+        }
+    }
+
+}
@@ -0,0 +1,295 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.apache.maven.plugin.logging.Log;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * Follows a log file as it grows, passing its complete lines to a consumer.
+ * <p>
+ * The file is read through a buffered channel and decoded as UTF-8. The
+ * tailer wakes on the modification events of the parent directory, falling
+ * back to polling when those are unavailable or missed. A rotated log file
+ * is detected by a change of its file key (the inode) and a truncated one by
+ * a size smaller than the read position. In both cases the new content is
+ * read from its start, after the rest of a rotated file was read.
+ *
+ * @author Gaurav Gupta
+ */
+public class LogTailer implements Runnable, Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long POLL_INTERVAL = 1000;
+
+    private final Path file;
+    private final Consumer<String> consumer;
+    private final long backfill;
+    private final Log log;
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final StringBuilder partialLine = new StringBuilder();
+    private FileChannel channel;
+    private Object fileKey;
+    private long position;
+    private volatile boolean closed;
+    private WatchService watchService;
+
+    /**
+     * @param file the log file, which may not exist yet.
+     * @param consumer receives each complete line, without its terminator.
+     * @param backfill the maximum number of bytes of existing content to pass
+     * on when attaching, starting at a line boundary.
+     * @param log the logger.
+     */
+    public LogTailer(Path file, Consumer<String> consumer, long backfill, Log log) {
+        this.file = file.toAbsolutePath();
+        this.consumer = consumer;
+        this.backfill = Math.max(0, backfill);
+        this.log = log;
+    }
+
+    @Override
+    public void run() {
+        try {
+            watchService = createWatchService();
+            if (!open(true)) {
+                log.warn("Log file does not exist yet: " + file);
+            }
+            while (!closed) {
+                if (channel != null) {
+                    drain();
+                    checkRotation();
+                } else {
+                    open(false);
+                }
+                if (channel == null || channel.size() <= position) {
+                    await();
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            if (!closed) {
+                log.error("Error occurred while streaming " + file, ex);
+            }
+        } finally {
+            closeQuietly();
+        }
+    }
+
+    /**
+     * Stops following the file.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        closeQuietly();
+    }
+
+    private boolean open(boolean attach) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (NoSuchFileException ex) {
+            return false;
+        }
+        fileKey = attributes.fileKey();
+        position = attach ? Math.max(0, channel.size() - backfill) : 0;
+        resetDecoder();
+        if (position > 0) {
+            skipPartialLine();
+        }
+        return true;
+    }
+
+    /**
+     * Passes on the lines written since the last read.
+     */
+    private void drain() throws IOException {
+        int read;
+        while (!closed && (read = channel.read(bytes, position)) > 0) {
+            position += read;
+            bytes.flip();
+            decoder.decode(bytes, chars, false);
+            bytes.compact();
+            chars.flip();
+            emitLines();
+            chars.compact();
+        }
+    }
+
+    private void emitLines() {
+        int start = chars.position();
+        for (int i = start; i < chars.limit(); i++) {
+            if (chars.get(i) == '\n') {
+                int end = i > start && chars.get(i - 1) == '\r' ? i - 1 : i;
+                partialLine.append(chars, start - chars.position(), end - chars.position());
+                consumer.accept(partialLine.toString());
+                partialLine.setLength(0);
+                start = i + 1;
+            }
+        }
+        partialLine.append(chars, start - chars.position(), chars.limit() - chars.position());
+        chars.position(chars.limit());
+    }
+
+    private void checkRotation() throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException ex) {
+            return;
+        }
+        Object key = attributes.fileKey();
+        if (key != null && !Objects.equals(key, fileKey)) {
+            drain();
+            flushPartialLine();
+            channel.close();
+            channel = null;
+            open(false);
+        } else if (attributes.size() < position) {
+            flushPartialLine();
+            position = 0;
+            resetDecoder();
+        }
+    }
+
+    /**
+     * Skips to the start of the first complete line of the backfill.
+     */
+    private void skipPartialLine() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        int read;
+        while ((read = channel.read(buffer, position)) > 0) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position++;
+                if (buffer.get() == '\n') {
+                    return;
+                }
+            }
+            buffer.clear();
+        }
+    }
+
+    private void flushPartialLine() {
+        if (partialLine.length() > 0) {
+            consumer.accept(partialLine.toString());
+            partialLine.setLength(0);
+        }
+    }
+
+    private void resetDecoder() {
+        decoder.reset();
+        bytes.clear();
+        chars.clear();
+        partialLine.setLength(0);
+    }
+
+    private WatchService createWatchService() {
+        try {
+            WatchService service = file.getFileSystem().newWatchService();
+            file.getParent().register(service, ENTRY_CREATE, ENTRY_MODIFY);
+            return service;
+        } catch (IOException | UnsupportedOperationException ex) {
+            log.debug("Polling " + file + " for changes", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Waits for a change of the file, or for the polling interval.
+     */
+    private void await() throws InterruptedException {
+        if (watchService == null) {
+            Thread.sleep(POLL_INTERVAL);
+            return;
+        }
+        try {
+            WatchKey key = watchService.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+            if (key != null) {
+                // the events only wake the tailer up, the file is checked anyway
+                key.pollEvents();
+                key.reset();
+            }
+        } catch (ClosedWatchServiceException ex) {
+            Thread.sleep(POLL_INTERVAL);
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException ex) {
+            log.debug(ex);
+        }
+    }
+
+}
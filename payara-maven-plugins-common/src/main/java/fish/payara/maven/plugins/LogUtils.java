@@ -38,9 +38,6 @@
  */
 package fish.payara.maven.plugins;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  *
  * @author Gaurav Gupta
@@ -49,31 +46,31 @@ public class LogUtils {
 
     private static final String WARNING_LEVEL = "WARNING";
     private static final String SEVERE_LEVEL = "SEVERE";
-    private static final String LOG_REGEX = "\\[([^\\[\\]]*)\\].*(\\[.*(INFO|WARNING|SEVERE).*\\]).*\\[levelValue\\: \\d+\\](.*)";
     private static final String WHITE_COLOR_CODE = "\033[97m" + '[';
     private static final String YELLOW_COLOR_CODE = "\033[93m" + '[';
     private static final String RED_COLOR_CODE = "\033[91m" + '[';
     private static final String RESET_COLOR_CODE = ']' + "\033[0m ";
 
     public static String trimLog(String line) {
-        Pattern pattern = Pattern.compile(LOG_REGEX);
-        Matcher matcher = pattern.matcher(line);
-        boolean find = matcher.find();
-        if (find) {
-            String timeStamp = matcher.group(1).trim();
-            String level = matcher.group(3).trim();
-            String content = matcher.group(4).trim();
-            switch (level) {
-                case WARNING_LEVEL:
-                    return warning(getTimestamp(timeStamp) + " ", content);
-                case SEVERE_LEVEL:
-                    return severe(getTimestamp(timeStamp) + " ", content);
-                default:
-                    return getTimestamp(timeStamp) + " " + content;
-            }
-        } else {
+        LogLine logLine = LogLine.parse(line);
+        if (logLine == null) {
             return line;
         }
+        String time = logLine.getTime();
+        String content = logLine.getMessage();
+        StringBuilder sb = new StringBuilder(time.length() + content.length() + 32);
+        sb.append(WHITE_COLOR_CODE).append(time).append(RESET_COLOR_CODE).append(' ');
+        switch (logLine.getLevel()) {
+            case WARNING_LEVEL:
+                sb.append(YELLOW_COLOR_CODE).append(WARNING_LEVEL).append(RESET_COLOR_CODE);
+                break;
+            case SEVERE_LEVEL:
+                sb.append(RED_COLOR_CODE).append(SEVERE_LEVEL).append(RESET_COLOR_CODE);
+                break;
+            default:
+                break;
+        }
+        return sb.append(content).toString();
     }
 
     public static String highlight(String text) {
@@ -84,26 +81,4 @@ public class LogUtils {
         String highlightedText = "\033[44m\033[97m" + text.substring(leadingSpaces) + "\033[0m";
         return " ".repeat(leadingSpaces) + highlightedText;
     }
-
-    private static String warning(String timeStamp, String line) {
-        return timeStamp + YELLOW_COLOR_CODE + WARNING_LEVEL + RESET_COLOR_CODE + line;
-    }
-
-    private static String severe(String timeStamp, String line) {
-        return timeStamp + RED_COLOR_CODE + SEVERE_LEVEL + RESET_COLOR_CODE + line;
-    }
-
-    private static String getTimestamp(String timestampString) {
-        int timeStartIndex = timestampString.indexOf('T') + 1;
-        int offsetSignIndex = timestampString.indexOf('+', timeStartIndex);
-
-        // If '+' sign is not found, try '-' sign
-        if (offsetSignIndex == -1) {
-            offsetSignIndex = timestampString.indexOf('-', timeStartIndex);
-        }
-
-        String timeString = timestampString.substring(timeStartIndex, offsetSignIndex);
-
-        return WHITE_COLOR_CODE + timeString + RESET_COLOR_CODE;
-    }
 }
@@ -0,0 +1,176 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Watches the directory trees with the {@link WatchService} of the platform,
+ * registering one key per directory.
+ *
+ * @author Gaurav Gupta
+ */
+public class NativeFileWatcher implements FileWatcher {
+
+    private final WatchService watchService;
+    private final Predicate<Path> excluded;
+    private final Log log;
+    /**
+     * Known directories, including the excluded ones, as the type of a
+     * deleted path can no longer be read.
+     */
+    private final Set<Path> directories = new HashSet<>();
+
+    /**
+     * @param roots the directory trees to watch.
+     * @param excluded directories that are not watched, with their subtree.
+     * @param log the logger.
+     * @throws IOException if a directory could not be registered, e.g. as the
+     * inotify limits of the user are reached.
+     */
+    public NativeFileWatcher(List<Path> roots, Predicate<Path> excluded, Log log) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.excluded = excluded;
+        this.log = log;
+        try {
+            for (Path root : roots) {
+                registerAll(root, null);
+            }
+        } catch (IOException ex) {
+            watchService.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public List<FileChange> poll(long timeout, TimeUnit unit) throws IOException, InterruptedException {
+        List<FileChange> changes = new ArrayList<>();
+        WatchKey key = watchService.poll(timeout, unit);
+        while (key != null) {
+            Path directory = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    // the lost events may include deletions, reported as a deletion of the
+                    // whole directory to get a clean build, and subdirectory creations
+                    log.debug("Watch service events lost for " + directory);
+                    changes.add(new FileChange(directory, ENTRY_DELETE, true));
+                    registerAll(directory, null);
+                    continue;
+                }
+                Path path = directory.resolve((Path) event.context());
+                boolean isDirectory;
+                if (event.kind() == ENTRY_CREATE) {
+                    isDirectory = Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS);
+                } else if (event.kind() == ENTRY_DELETE) {
+                    isDirectory = directories.remove(path);
+                    if (isDirectory) {
+                        directories.removeIf(known -> known.startsWith(path));
+                    }
+                } else {
+                    isDirectory = directories.contains(path);
+                }
+                changes.add(new FileChange(path, event.kind(), isDirectory));
+                if (event.kind() == ENTRY_CREATE && isDirectory) {
+                    // files may already exist in the new directory before its registration
+                    registerAll(path, changes);
+                }
+            }
+            key.reset();
+            key = watchService.poll();
+        }
+        return changes;
+    }
+
+    private void registerAll(Path root, List<FileChange> createdFiles) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (excluded.test(dir)) {
+                    directories.add(dir);
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                log.debug("register watch service for " + dir);
+                dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                directories.add(dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (createdFiles != null) {
+                    createdFiles.add(new FileChange(file, ENTRY_CREATE, false));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                log.debug("Unable to watch " + file + ": " + exc.getMessage());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+}
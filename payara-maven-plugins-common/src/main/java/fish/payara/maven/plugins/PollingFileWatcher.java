@@ -0,0 +1,230 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Detects changes by periodically comparing snapshots of the modification
+ * time and size of the files, for trees that cannot be watched natively.
+ * <p>
+ * A snapshot is kept in parallel arrays ordered by a depth first walk with
+ * sorted directory entries, so two snapshots are compared in a single linear
+ * pass without any per file map entries.
+ *
+ * @author Gaurav Gupta
+ */
+public class PollingFileWatcher implements FileWatcher {
+
+    private final List<Path> roots;
+    private final Predicate<Path> excluded;
+    private final long interval;
+    private final Log log;
+    private Snapshot snapshot;
+    private long nextScanTime;
+
+    /**
+     * @param roots the directory trees to watch.
+     * @param excluded directories that are not scanned, with their subtree.
+     * @param interval milliseconds between two scans.
+     * @param log the logger.
+     */
+    public PollingFileWatcher(List<Path> roots, Predicate<Path> excluded, long interval, Log log) {
+        this.roots = new ArrayList<>(roots);
+        this.roots.sort((path1, path2) -> compare(path1.toString(), path2.toString()));
+        this.excluded = excluded;
+        this.interval = interval;
+        this.log = log;
+        this.snapshot = scan();
+        this.nextScanTime = System.currentTimeMillis() + interval;
+    }
+
+    /**
+     * @return milliseconds until the next scan is due.
+     */
+    public long getNextScanDelay() {
+        return Math.max(0, nextScanTime - System.currentTimeMillis());
+    }
+
+    @Override
+    public List<FileChange> poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long wait = Math.min(unit.toMillis(timeout), getNextScanDelay());
+        if (wait > 0) {
+            Thread.sleep(wait);
+        }
+        if (getNextScanDelay() > 0) {
+            return Collections.emptyList();
+        }
+        long startTime = System.nanoTime();
+        Snapshot current = scan();
+        List<FileChange> changes = diff(snapshot, current);
+        snapshot = current;
+        nextScanTime = System.currentTimeMillis() + interval;
+        if (log.isDebugEnabled()) {
+            log.debug("Scanned " + current.size + " files in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms");
+        }
+        return changes;
+    }
+
+    private Snapshot scan() {
+        Snapshot result = new Snapshot();
+        for (Path root : roots) {
+            scanDirectory(root, result);
+        }
+        return result;
+    }
+
+    private void scanDirectory(Path directory, Snapshot result) {
+        String[] names = directory.toFile().list();
+        if (names == null) {
+            return;
+        }
+        Arrays.sort(names);
+        for (String name : names) {
+            Path path = directory.resolve(name);
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            } catch (IOException ex) {
+                continue; // deleted meanwhile
+            }
+            if (attributes.isDirectory()) {
+                if (!excluded.test(path)) {
+                    scanDirectory(path, result);
+                }
+            } else if (attributes.isRegularFile()) {
+                result.add(path.toString(), attributes.lastModifiedTime().toMillis(), attributes.size());
+            }
+        }
+    }
+
+    private static List<FileChange> diff(Snapshot previous, Snapshot current) {
+        List<FileChange> changes = new ArrayList<>();
+        int i = 0, j = 0;
+        while (i < previous.size || j < current.size) {
+            int order;
+            if (i == previous.size) {
+                order = 1;
+            } else if (j == current.size) {
+                order = -1;
+            } else {
+                order = compare(previous.paths[i], current.paths[j]);
+            }
+            if (order < 0) {
+                changes.add(new FileChange(new File(previous.paths[i]).toPath(), ENTRY_DELETE, false));
+                i++;
+            } else if (order > 0) {
+                changes.add(new FileChange(new File(current.paths[j]).toPath(), ENTRY_CREATE, false));
+                j++;
+            } else {
+                if (previous.modified[i] != current.modified[j] || previous.sizes[i] != current.sizes[j]) {
+                    changes.add(new FileChange(new File(current.paths[j]).toPath(), ENTRY_MODIFY, false));
+                }
+                i++;
+                j++;
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Compares paths in the order of the depth first walk, i.e. as strings
+     * with the name separator sorting before any other character.
+     */
+    private static int compare(String path1, String path2) {
+        int length = Math.min(path1.length(), path2.length());
+        for (int i = 0; i < length; i++) {
+            char c1 = path1.charAt(i);
+            char c2 = path2.charAt(i);
+            if (c1 != c2) {
+                if (c1 == File.separatorChar) {
+                    return -1;
+                }
+                if (c2 == File.separatorChar) {
+                    return 1;
+                }
+                return c1 - c2;
+            }
+        }
+        return path1.length() - path2.length();
+    }
+
+    @Override
+    public void close() {
+        snapshot = new Snapshot();
+    }
+
+    private static class Snapshot {
+
+        private String[] paths = new String[1024];
+        private long[] modified = new long[1024];
+        private long[] sizes = new long[1024];
+        private int size;
+
+        private void add(String path, long lastModified, long length) {
+            if (size == paths.length) {
+                int capacity = size * 2;
+                paths = Arrays.copyOf(paths, capacity);
+                modified = Arrays.copyOf(modified, capacity);
+                sizes = Arrays.copyOf(sizes, capacity);
+            }
+            paths[size] = path;
+            modified[size] = lastModified;
+            sizes[size] = length;
+            size++;
+        }
+    }
+
+}
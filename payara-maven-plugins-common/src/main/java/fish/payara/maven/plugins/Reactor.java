@@ -0,0 +1,218 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.project.ProjectBuildingResult;
+
+/**
+ * The modules of the reactor the application belongs to which are packaged
+ * into its <code>WEB-INF/lib</code>, so that their changes can be rebuilt
+ * with a targeted reactor build instead of requiring a manual install.
+ * <p>
+ * The reactor is read from the top-most parent found on the file system,
+ * independently of the projects selected for the dev session.
+ *
+ * @author Gaurav Gupta
+ */
+public class Reactor {
+
+    private static final List<String> PACKAGED_SCOPES = List.of("compile", "runtime");
+    private static final String JAR = "jar";
+
+    private final File rootPom;
+    private final Map<String, MavenProject> modules;
+    private final Map<String, Set<String>> dependents;
+
+    private Reactor(File rootPom, Map<String, MavenProject> modules, Map<String, Set<String>> dependents) {
+        this.rootPom = rootPom;
+        this.modules = modules;
+        this.dependents = dependents;
+    }
+
+    /**
+     * @return the reactor of the project, empty if the project is not a
+     * module of a multi-module build or the reactor cannot be read.
+     */
+    public static Reactor load(MavenProject project, MavenSession session, ProjectBuilder projectBuilder, Log log) {
+        Reactor empty = new Reactor(null, Collections.emptyMap(), Collections.emptyMap());
+        File rootPom = null;
+        for (MavenProject parent = project; parent.getParentFile() != null && parent.getParent() != null; parent = parent.getParent()) {
+            rootPom = parent.getParentFile();
+        }
+        if (session == null || projectBuilder == null || rootPom == null) {
+            return empty;
+        }
+        try {
+            ProjectBuildingRequest request = new DefaultProjectBuildingRequest(session.getProjectBuildingRequest());
+            request.setProject(null);
+            request.setResolveDependencies(false);
+            Map<String, MavenProject> projects = new LinkedHashMap<>();
+            for (ProjectBuildingResult result : projectBuilder.build(Collections.singletonList(rootPom), true, request)) {
+                projects.put(getId(result.getProject()), result.getProject());
+            }
+            if (!projects.containsKey(getId(project))) {
+                log.debug("Project " + getId(project) + " is not a module of " + rootPom);
+                return empty;
+            }
+
+            // Modules packaged into the application, in reactor order
+            Set<String> packaged = new HashSet<>();
+            collectPackagedModules(project, projects, true, packaged);
+            Map<String, MavenProject> modules = new LinkedHashMap<>();
+            Map<String, Set<String>> dependents = new HashMap<>();
+            for (MavenProject module : projects.values()) {
+                String id = getId(module);
+                if (!packaged.contains(id)) {
+                    continue;
+                }
+                modules.put(id, module);
+                for (Dependency dependency : module.getDependencies()) {
+                    String dependencyId = dependency.getGroupId() + ":" + dependency.getArtifactId();
+                    if (packaged.contains(dependencyId)) {
+                        dependents.computeIfAbsent(dependencyId, k -> new HashSet<>()).add(id);
+                    }
+                }
+            }
+            log.debug("Reactor modules of " + rootPom + " packaged into " + getId(project) + ": " + modules.keySet());
+            return new Reactor(rootPom, modules, dependents);
+        } catch (Exception ex) {
+            log.warn("Unable to read the reactor of " + rootPom + ", changes of sibling modules are not watched: " + ex.getMessage());
+            log.debug(ex);
+            return empty;
+        }
+    }
+
+    private static void collectPackagedModules(MavenProject project, Map<String, MavenProject> projects, boolean direct, Set<String> packaged) {
+        for (Dependency dependency : project.getDependencies()) {
+            MavenProject module = projects.get(dependency.getGroupId() + ":" + dependency.getArtifactId());
+            if (module != null
+                    && module.getVersion().equals(dependency.getVersion())
+                    && JAR.equals(module.getPackaging())
+                    && JAR.equals(dependency.getType())
+                    && dependency.getClassifier() == null
+                    && (dependency.getScope() == null || PACKAGED_SCOPES.contains(dependency.getScope()))
+                    && (direct || !dependency.isOptional())
+                    && packaged.add(getId(module))) {
+                collectPackagedModules(module, projects, false, packaged);
+            }
+        }
+    }
+
+    public static String getId(MavenProject project) {
+        return project.getGroupId() + ":" + project.getArtifactId();
+    }
+
+    public boolean isEmpty() {
+        return modules.isEmpty();
+    }
+
+    public File getRootPom() {
+        return rootPom;
+    }
+
+    public Collection<MavenProject> getModules() {
+        return modules.values();
+    }
+
+    /**
+     * @return the module owning the path, or <code>null</code> if the path
+     * does not belong to a packaged module.
+     */
+    public MavenProject getModule(Path path) {
+        MavenProject owner = null;
+        for (MavenProject module : modules.values()) {
+            Path basedir = module.getBasedir().toPath();
+            if (path.startsWith(basedir) && (owner == null || basedir.startsWith(owner.getBasedir().toPath()))) {
+                owner = module;
+            }
+        }
+        return owner;
+    }
+
+    /**
+     * @return the modules and the packaged modules depending on them, which
+     * have to be rebuilt, in reactor order.
+     */
+    public List<MavenProject> getAffectedModules(Collection<MavenProject> changedModules) {
+        Set<String> affected = new HashSet<>();
+        List<String> queue = new ArrayList<>();
+        for (MavenProject module : changedModules) {
+            queue.add(getId(module));
+        }
+        while (!queue.isEmpty()) {
+            String id = queue.remove(queue.size() - 1);
+            if (affected.add(id)) {
+                queue.addAll(dependents.getOrDefault(id, Collections.emptySet()));
+            }
+        }
+        List<MavenProject> result = new ArrayList<>();
+        for (Map.Entry<String, MavenProject> module : modules.entrySet()) {
+            if (affected.contains(module.getKey())) {
+                result.add(module.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the archive built by the module.
+     */
+    public static File getArchive(MavenProject module) {
+        return new File(module.getBuild().getDirectory(), module.getBuild().getFinalName() + "." + JAR);
+    }
+
+}
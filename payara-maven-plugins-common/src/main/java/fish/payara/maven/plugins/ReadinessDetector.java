@@ -0,0 +1,217 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Watches the output of a starting instance for its readiness and failure
+ * markers, signalling the outcome through a {@link CompletableFuture}.
+ * <p>
+ * The markers are matched together by an Aho-Corasick automaton as the lines
+ * stream by, so no output is retained and each character is examined once.
+ *
+ * @author Gaurav Gupta
+ */
+public class ReadinessDetector {
+
+    private static final int ALPHABET = 128;
+
+    private final List<String> markers = new ArrayList<>();
+    private final int failureMarkers;
+    private int[][] transitions;
+    private int[] outputs;
+    private final CompletableFuture<String> future = new CompletableFuture<>();
+
+    /**
+     * @param readyMarkers the texts indicating the instance is ready.
+     * @param failureMarkers the texts indicating the instance failed to start.
+     */
+    public ReadinessDetector(Collection<String> readyMarkers, Collection<String> failureMarkers) {
+        markers.addAll(failureMarkers);
+        this.failureMarkers = failureMarkers.size();
+        markers.addAll(readyMarkers);
+        if (markers.size() > Integer.SIZE) {
+            throw new IllegalArgumentException("Too many readiness markers");
+        }
+        build();
+    }
+
+    /**
+     * Scans an output line for the markers, completing the signal on the
+     * first marker found.
+     *
+     * @return <code>true</code> if the line indicates the instance is ready.
+     */
+    public boolean accept(String line) {
+        if (future.isDone()) {
+            return false;
+        }
+        int state = 0;
+        int found = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            state = c < ALPHABET ? transitions[state][c] : 0;
+            found |= outputs[state];
+        }
+        if (found == 0) {
+            return false;
+        }
+        int marker = Integer.numberOfTrailingZeros(found);
+        if (marker < failureMarkers) {
+            future.completeExceptionally(new IllegalStateException(line.trim()));
+            return false;
+        }
+        return future.complete(line);
+    }
+
+    /**
+     * Signals the instance failed to start.
+     */
+    public void fail(Throwable cause) {
+        future.completeExceptionally(cause);
+    }
+
+    /**
+     * Stops waiting for the markers, e.g. because the output has ended or the
+     * instance was already running.
+     */
+    public void close() {
+        future.complete(null);
+    }
+
+    /**
+     * @return the line indicating the instance is ready, or <code>null</code>
+     * if the detector was closed first.
+     */
+    public CompletableFuture<String> getFuture() {
+        return future;
+    }
+
+    /**
+     * Waits for the instance to become ready.
+     *
+     * @param timeout the maximum time to wait in seconds, or <code>null</code>
+     * or a non-positive value to wait indefinitely.
+     * @return the line indicating the instance is ready, or <code>null</code>
+     * if the detector was closed first.
+     * @throws ExecutionException if the instance failed to start.
+     * @throws TimeoutException if the instance did not become ready in time.
+     */
+    public String await(Long timeout) throws InterruptedException, ExecutionException, TimeoutException {
+        if (timeout == null || timeout <= 0) {
+            return future.get();
+        }
+        return future.get(timeout, TimeUnit.SECONDS);
+    }
+
+    private void build() {
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> matches = new ArrayList<>();
+        trie.add(newState());
+        matches.add(0);
+        for (int i = 0; i < markers.size(); i++) {
+            String marker = markers.get(i);
+            int state = 0;
+            for (int j = 0; j < marker.length(); j++) {
+                char c = marker.charAt(j);
+                if (c >= ALPHABET) {
+                    throw new IllegalArgumentException("Unsupported readiness marker: " + marker);
+                }
+                int next = trie.get(state)[c];
+                if (next == -1) {
+                    next = trie.size();
+                    trie.add(newState());
+                    matches.add(0);
+                    trie.get(state)[c] = next;
+                }
+                state = next;
+            }
+            matches.set(state, matches.get(state) | (1 << i));
+        }
+        transitions = trie.toArray(new int[0][]);
+        outputs = new int[transitions.length];
+        for (int i = 0; i < outputs.length; i++) {
+            outputs[i] = matches.get(i);
+        }
+
+        // breadth first, completing the trie into an automaton through the
+        // failure links
+        int[] fail = new int[transitions.length];
+        Deque<Integer> queue = new ArrayDeque<>();
+        int[] root = transitions[0];
+        for (int c = 0; c < ALPHABET; c++) {
+            if (root[c] == -1) {
+                root[c] = 0;
+            } else {
+                queue.add(root[c]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] row = transitions[state];
+            outputs[state] |= outputs[fail[state]];
+            for (int c = 0; c < ALPHABET; c++) {
+                int fallback = transitions[fail[state]][c];
+                if (row[c] == -1) {
+                    row[c] = fallback;
+                } else {
+                    fail[row[c]] = fallback;
+                    queue.add(row[c]);
+                }
+            }
+        }
+    }
+
+    private static int[] newState() {
+        int[] row = new int[ALPHABET];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+}
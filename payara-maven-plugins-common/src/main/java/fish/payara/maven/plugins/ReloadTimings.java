@@ -0,0 +1,258 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Durations of the phases of each dev mode reload cycle, from the first
+ * change event to the browser refresh, or to the end of the deployment when
+ * it is not detected in the log, logged as a one-line summary per reload
+ * together with the session percentiles.
+ * <p>
+ * The phases are also emitted as JFR events, so that a recording of the
+ * Maven JVM correlates the reloads with GC and I/O activity.
+ *
+ * @author Gaurav Gupta
+ */
+public class ReloadTimings {
+
+    public enum Phase {
+        /**
+         * From the first change event until the changes are quiet.
+         */
+        WAIT,
+        /**
+         * Build of the modified reactor modules.
+         */
+        MODULES,
+        /**
+         * In-process compilation into the exploded application.
+         */
+        COMPILE,
+        /**
+         * Maven build of the application.
+         */
+        BUILD,
+        /**
+         * Redefinition of the recompiled classes in the running instance.
+         */
+        HOTSWAP,
+        /**
+         * From the reload request until the application is deployed.
+         */
+        DEPLOY,
+        /**
+         * Browser refresh.
+         */
+        REFRESH
+    }
+
+    private final String name;
+    private final Log log;
+    private final List<Long> totals = new ArrayList<>();
+    private final Map<Phase, Long> durations = new EnumMap<>(Phase.class);
+    private long cycle;
+    private long cycleStart;
+    private Phase phase;
+    private long phaseStart;
+    private PhaseEvent phaseEvent;
+    private CycleEvent cycleEvent;
+
+    public ReloadTimings(String name, Log log) {
+        this.name = name;
+        this.log = log;
+    }
+
+    /**
+     * Starts a cycle whose changes were collected since the given time.
+     */
+    public synchronized void start(long firstChangeTime) {
+        if (phase != null) {
+            // the deployment of the previous cycle was not reported
+            finish();
+        }
+        long now = System.nanoTime();
+        long wait = TimeUnit.MILLISECONDS.toNanos(Math.max(0, System.currentTimeMillis() - firstChangeTime));
+        cycle++;
+        cycleStart = now - wait;
+        durations.clear();
+        durations.put(Phase.WAIT, wait);
+        phase = Phase.WAIT;
+        phaseStart = now;
+        cycleEvent = new CycleEvent();
+        cycleEvent.begin();
+        cycleEvent.project = name;
+        cycleEvent.cycle = cycle;
+        cycleEvent.wait = TimeUnit.NANOSECONDS.toMillis(wait);
+    }
+
+    /**
+     * Ends the current phase of the cycle and starts the next one.
+     */
+    public synchronized void begin(Phase next) {
+        if (phase == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        endPhase(now);
+        phase = next;
+        phaseStart = now;
+        phaseEvent = new PhaseEvent();
+        phaseEvent.begin();
+        phaseEvent.project = name;
+        phaseEvent.cycle = cycle;
+        phaseEvent.phase = next.name().toLowerCase();
+    }
+
+    /**
+     * Ends the cycle, logging its summary.
+     */
+    public synchronized void finish() {
+        if (phase == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        endPhase(now);
+        phase = null;
+        long total = now - cycleStart;
+        totals.add(total);
+        cycleEvent.commit();
+        cycleEvent = null;
+
+        StringBuilder summary = new StringBuilder("Reload #").append(cycle).append(" of ").append(name)
+                .append(" took ").append(toMillis(total)).append(" ms (");
+        String separator = "";
+        for (Map.Entry<Phase, Long> duration : durations.entrySet()) {
+            summary.append(separator).append(duration.getKey().name().toLowerCase())
+                    .append(' ').append(toMillis(duration.getValue())).append(" ms");
+            separator = ", ";
+        }
+        summary.append("), p50 ").append(toMillis(percentile(50)))
+                .append(" ms, p95 ").append(toMillis(percentile(95)))
+                .append(" ms over ").append(totals.size()).append(" reloads");
+        log.info(summary.toString());
+    }
+
+    /**
+     * Drops the cycle, e.g. when the build failed.
+     */
+    public synchronized void cancel() {
+        if (phaseEvent != null) {
+            phaseEvent.commit();
+            phaseEvent = null;
+        }
+        phase = null;
+        cycleEvent = null;
+    }
+
+    private void endPhase(long now) {
+        if (phase != Phase.WAIT) {
+            durations.merge(phase, now - phaseStart, Long::sum);
+        }
+        if (phaseEvent != null) {
+            phaseEvent.commit();
+            phaseEvent = null;
+        }
+    }
+
+    /**
+     * @return the nearest-rank percentile of the cycle durations.
+     */
+    private long percentile(int percent) {
+        List<Long> sorted = new ArrayList<>(totals);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    @Name("fish.payara.maven.DevReloadPhase")
+    @Label("Dev Reload Phase")
+    @Description("Phase of a dev mode reload cycle")
+    @Category({"Payara", "Dev Mode"})
+    @StackTrace(false)
+    static class PhaseEvent extends Event {
+
+        @Label("Project")
+        String project;
+
+        @Label("Cycle")
+        long cycle;
+
+        @Label("Phase")
+        String phase;
+    }
+
+    @Name("fish.payara.maven.DevReload")
+    @Label("Dev Reload")
+    @Description("Dev mode reload cycle, from the first change to the browser refresh")
+    @Category({"Payara", "Dev Mode"})
+    @StackTrace(false)
+    static class CycleEvent extends Event {
+
+        @Label("Project")
+        String project;
+
+        @Label("Cycle")
+        long cycle;
+
+        @Label("Wait")
+        @Description("Time from the first change event until the build started")
+        @Timespan(Timespan.MILLISECONDS)
+        long wait;
+    }
+
+}
@@ -4,8 +4,14 @@
  */
 package fish.payara.maven.plugins;
 
+import java.net.InetSocketAddress;
+import java.util.Collections;
 import java.util.List;
+import org.apache.maven.Maven;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.LegacySupport;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
 import org.apache.maven.plugin.logging.Log;
 import org.openqa.selenium.WebDriver;
 
@@ -26,4 +32,68 @@ public interface StartTask {
      boolean isLocal();
 
      boolean isIgnoreTestChanges();
+
+     default MavenSession getSession() {
+         return null;
+     }
+
+     /**
+      * @return the Maven component running embedded builds, or
+      * <code>null</code> if embedded builds are not supported.
+      */
+     default Maven getMaven() {
+         return null;
+     }
+
+     /**
+      * @return the component holding the session of the current build,
+      * restored after each embedded build.
+      */
+     default LegacySupport getLegacySupport() {
+         return null;
+     }
+
+     /**
+      * @return the component reading the project descriptors for the
+      * in-process compiler and the reactor lookup.
+      */
+     default ProjectBuilder getProjectBuilder() {
+         return null;
+     }
+
+     default boolean isEmbeddedBuild() {
+         return false;
+     }
+
+     /**
+      * @return milliseconds without further changes before a build starts.
+      */
+     default long getBuildQuietPeriod() {
+         return Configuration.DEFAULT_BUILD_QUIET_PERIOD;
+     }
+
+     /**
+      * @return maximum milliseconds a change waits for a build while further
+      * changes keep coming in.
+      */
+     default long getBuildMaxLatency() {
+         return Configuration.DEFAULT_BUILD_MAX_LATENCY;
+     }
+
+     /**
+      * @return additional <code>.gitignore</code> style patterns of paths
+      * that are not watched for changes.
+      */
+     default List<String> getWatchIgnore() {
+         return Collections.emptyList();
+     }
+
+     /**
+      * @return the address of the JDWP agent of the started instance used to
+      * hot swap recompiled classes, or <code>null</code> if hot swap is not
+      * enabled.
+      */
+     default InetSocketAddress getHotSwapAddress() {
+         return null;
+     }
 }
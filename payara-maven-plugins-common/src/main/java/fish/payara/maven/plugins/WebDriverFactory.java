@@ -190,6 +190,30 @@ public class WebDriverFactory {
         WebDriverFactory.executeScript(String.format("document.title = '%s %s';", state, project.getName()), driver, log);
     }
 
+    /**
+     * Refreshes the browser once the application is redeployed, completing
+     * the reload cycle.
+     *
+     * @param driver the browser, or <code>null</code> if none is open.
+     * @param timings the timings of the reload cycle, or <code>null</code>
+     * if changes are not deployed automatically.
+     */
+    public static void refresh(WebDriver driver, ReloadTimings timings, Log log) {
+        if (timings != null) {
+            timings.begin(ReloadTimings.Phase.REFRESH);
+        }
+        if (driver != null) {
+            try {
+                driver.navigate().refresh();
+            } catch (Exception ex) {
+                log.debug("Error in refreshing with WebDriver", ex);
+            }
+        }
+        if (timings != null) {
+            timings.finish();
+        }
+    }
+
     public static String getCurrentTitle(WebDriver driver) {
         if (driver != null) {
             if (driver instanceof JavascriptExecutor) {
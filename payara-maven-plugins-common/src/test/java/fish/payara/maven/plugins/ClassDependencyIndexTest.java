@@ -0,0 +1,161 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import fish.payara.maven.plugins.ClassDependencyIndex.ClassInfo;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassDependencyIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDependencies() throws Exception {
+        Path classes = compile(
+                "package p; public class A { public static void run() {} }",
+                "package p; public class B { A field; }",
+                "package p; public class C { void call() { A.run(); } }",
+                "package p; public class D { java.util.List<A> list; A[] array; }",
+                "package p; public class E { Object o = new Object(); }");
+        ClassDependencyIndex index = ClassDependencyIndex.scan(classes);
+        assertEquals(5, index.size());
+        assertEquals(set("p/B", "p/C", "p/D"), index.getDependents("p/A"));
+        assertTrue(index.get("p/D").getDependencies().contains("java/util/List"));
+        assertTrue(index.getDependents("p/E").isEmpty());
+        assertEquals("p/B.java", index.get("p/B").getSourceFile());
+        assertEquals(set("p/B"), index.getClassesOf("p/B.java"));
+
+        index.remove("p/B");
+        assertEquals(set("p/C", "p/D"), index.getDependents("p/A"));
+        assertTrue(index.getClassesOf("p/B.java").isEmpty());
+    }
+
+    @Test
+    public void testNestedClassesOfSource() throws Exception {
+        Path classes = compile("package p; public class Outer { class Inner {} }");
+        ClassDependencyIndex index = ClassDependencyIndex.scan(classes);
+        assertEquals(set("p/Outer", "p/Outer$Inner"), index.getClassesOf("p/Outer.java"));
+    }
+
+    @Test
+    public void testApiHash() throws Exception {
+        ClassInfo base = parse("public class A { public int run() { return 1; } }");
+        ClassInfo body = parse("public class A { public int run() { return 2; } }");
+        ClassInfo privateMethod = parse("public class A { public int run() { return 1; } private void helper() {} }");
+        ClassInfo publicMethod = parse("public class A { public int run() { return 1; } public void helper() {} }");
+        assertEquals(base.getApiHash(), body.getApiHash());
+        assertEquals(base.getSchemaHash(), body.getSchemaHash());
+        assertEquals(base.getApiHash(), privateMethod.getApiHash());
+        assertNotEquals(base.getSchemaHash(), privateMethod.getSchemaHash());
+        assertNotEquals(base.getApiHash(), publicMethod.getApiHash());
+    }
+
+    @Test
+    public void testConstantsHash() throws Exception {
+        ClassInfo base = parse("public class A { public static final int X = 1; public static final String S = \"a\"; }");
+        ClassInfo changedInt = parse("public class A { public static final int X = 2; public static final String S = \"a\"; }");
+        ClassInfo changedString = parse("public class A { public static final int X = 1; public static final String S = \"b\"; }");
+        assertEquals(base.getApiHash(), changedInt.getApiHash());
+        assertNotEquals(base.getConstantsHash(), changedInt.getConstantsHash());
+        assertNotEquals(base.getConstantsHash(), changedString.getConstantsHash());
+    }
+
+    @Test
+    public void testWideConstants() throws Exception {
+        // long and double constants take two constant pool entries
+        ClassInfo info = parse("public class A { public static final long L = 1L << 40; public static final double D = 0.5;"
+                + " java.util.Map<String, Long> map; }");
+        assertEquals("A", info.getName());
+        assertTrue(info.getDependencies().contains("java/util/Map"));
+        assertTrue(info.getDependencies().contains("java/lang/Long"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testNotAClassFile() throws Exception {
+        ClassDependencyIndex.parse("not a class".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ClassInfo parse(String source) throws Exception {
+        Path classes = compile(source);
+        return ClassDependencyIndex.parse(Files.readAllBytes(classes.resolve("A.class")));
+    }
+
+    private Path compile(String... sources) throws Exception {
+        Path root = folder.newFolder().toPath();
+        Path sourceRoot = Files.createDirectories(root.resolve("src"));
+        Path classes = Files.createDirectories(root.resolve("classes"));
+        List<String> arguments = new ArrayList<>();
+        arguments.add("-d");
+        arguments.add(classes.toString());
+        for (String source : sources) {
+            String name = source.replaceAll("(?s).*?class (\\w+).*", "$1");
+            String packageName = source.startsWith("package ") ? source.substring(8, source.indexOf(';')) : "";
+            Path directory = Files.createDirectories(sourceRoot.resolve(packageName.replace('.', File.separatorChar)));
+            Path file = directory.resolve(name + ".java");
+            Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+            arguments.add(file.toString());
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, arguments.toArray(new String[0])));
+        return classes;
+    }
+
+    private static Set<String> set(String... values) {
+        return new HashSet<>(Arrays.asList(values));
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class IgnoreRulesTest {
+
+    private static final Path BASE = Paths.get("/project").toAbsolutePath();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testNamePatternMatchesAtAnyLevel() {
+        IgnoreRules rules = rules("*.log", "node_modules");
+        assertTrue(isIgnoredFile(rules, "server.log"));
+        assertTrue(isIgnoredFile(rules, "src/main/server.log"));
+        assertFalse(isIgnoredFile(rules, "server.txt"));
+        assertTrue(isIgnoredFile(rules, "web/node_modules/lib/index.js"));
+    }
+
+    @Test
+    public void testAnchoring() {
+        IgnoreRules rules = rules("/build", "docs/generated");
+        assertTrue(isIgnoredFile(rules, "build/output.txt"));
+        assertFalse(isIgnoredFile(rules, "src/build/output.txt"));
+        assertTrue(isIgnoredFile(rules, "docs/generated/index.html"));
+        assertFalse(isIgnoredFile(rules, "src/docs/generated/index.html"));
+    }
+
+    @Test
+    public void testDirectoryOnly() {
+        IgnoreRules rules = rules("out/", "/tmp/", "*.cache/");
+        assertTrue(rules.isIgnored(BASE.resolve("out"), true));
+        assertFalse(rules.isIgnored(BASE.resolve("out"), false));
+        assertTrue(isIgnoredFile(rules, "src/out/Main.class"));
+        assertTrue(rules.isIgnored(BASE.resolve("tmp"), true));
+        assertFalse(rules.isIgnored(BASE.resolve("tmp"), false));
+        assertTrue(isIgnoredFile(rules, "data.cache/entry"));
+        assertFalse(isIgnoredFile(rules, "data.cache"));
+    }
+
+    @Test
+    public void testNegation() {
+        IgnoreRules rules = rules("*.log", "!keep.log");
+        assertTrue(isIgnoredFile(rules, "server.log"));
+        assertFalse(isIgnoredFile(rules, "keep.log"));
+        assertFalse(isIgnoredFile(rules, "logs/keep.log"));
+    }
+
+    @Test
+    public void testLastMatchingPatternWins() {
+        IgnoreRules rules = rules("!keep.log", "*.log");
+        assertTrue(isIgnoredFile(rules, "keep.log"));
+    }
+
+    @Test
+    public void testNoReinclusionInsideIgnoredDirectory() {
+        IgnoreRules rules = rules("logs/", "!logs/keep.log", "!important.txt");
+        assertTrue(isIgnoredFile(rules, "logs/keep.log"));
+        assertTrue(isIgnoredFile(rules, "logs/important.txt"));
+    }
+
+    @Test
+    public void testDoubleAsterisk() {
+        IgnoreRules rules = rules("doc/**/*.pdf", "**/cache", "reports/**");
+        assertTrue(isIgnoredFile(rules, "doc/manual.pdf"));
+        assertTrue(isIgnoredFile(rules, "doc/a/b/manual.pdf"));
+        assertFalse(isIgnoredFile(rules, "src/doc/manual.pdf"));
+        assertTrue(isIgnoredFile(rules, "a/b/cache"));
+        assertTrue(isIgnoredFile(rules, "reports/2026/summary.html"));
+        assertFalse(rules.isIgnored(BASE.resolve("reports"), true));
+    }
+
+    @Test
+    public void testWildcardsAndCharacterClasses() {
+        IgnoreRules rules = rules("file?.txt", "[ab].bak", "[!x]y.tmp", "/src/*.orig");
+        assertTrue(isIgnoredFile(rules, "file1.txt"));
+        assertFalse(isIgnoredFile(rules, "file10.txt"));
+        assertTrue(isIgnoredFile(rules, "a.bak"));
+        assertFalse(isIgnoredFile(rules, "c.bak"));
+        assertTrue(isIgnoredFile(rules, "zy.tmp"));
+        assertFalse(isIgnoredFile(rules, "xy.tmp"));
+        assertTrue(isIgnoredFile(rules, "src/Main.java.orig"));
+        assertFalse(isIgnoredFile(rules, "src/main/Main.java.orig"));
+    }
+
+    @Test
+    public void testCommentsAndEscapes() {
+        IgnoreRules rules = rules("# comment", "", "\\#notes", "\\!important");
+        assertFalse(isIgnoredFile(rules, "# comment"));
+        assertTrue(isIgnoredFile(rules, "#notes"));
+        assertTrue(isIgnoredFile(rules, "!important"));
+    }
+
+    @Test
+    public void testPathsOutsideBaseDirectory() {
+        IgnoreRules rules = rules("*");
+        assertFalse(rules.isIgnored(BASE, true));
+        assertFalse(rules.isIgnored(BASE.resolveSibling("other").resolve("file.txt"), false));
+    }
+
+    @Test
+    public void testIgnoreFile() throws Exception {
+        Path base = folder.getRoot().toPath();
+        Path ignoreFile = base.resolve(".gitignore");
+        Files.write(ignoreFile, "# build output\ntarget/\n*.class\n!Keep.class\n".getBytes(StandardCharsets.UTF_8));
+        IgnoreRules rules = new IgnoreRules(base);
+        rules.addAll(ignoreFile);
+        rules.addAll(base.resolve(".payaraignore"));
+        assertTrue(rules.isIgnored(base.resolve("target").resolve("app.war"), false));
+        assertTrue(rules.isIgnored(base.resolve("Main.class"), false));
+        assertFalse(rules.isIgnored(base.resolve("Keep.class"), false));
+        assertFalse(rules.isIgnored(base.resolve("Main.java"), false));
+    }
+
+    private static IgnoreRules rules(String... patterns) {
+        IgnoreRules rules = new IgnoreRules(BASE);
+        for (String pattern : patterns) {
+            rules.add(pattern);
+        }
+        return rules;
+    }
+
+    private static boolean isIgnoredFile(IgnoreRules rules, String relativePath) {
+        return rules.isIgnored(BASE.resolve(relativePath), false);
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+public class LogLineTest {
+
+    static final String INFO_LINE = "[2026-10-18T16:28:23.123+0000] [Payara 6.2024.1] [INFO] [] "
+            + "[javax.enterprise.system.core] [tid: _ThreadID=1 _ThreadName=main] [timeMillis: 1792340903123] "
+            + "[levelValue: 800] demo was successfully deployed in 1,234 milliseconds.";
+    static final String WARNING_LINE = "[2026-10-18T16:28:23.456-0500] [] [  WARNING  ] [] "
+            + "[fish.payara.micro] [tid: _ThreadID=42 _ThreadName=main] [timeMillis: 1792340903456] "
+            + "[levelValue: 900]   Low memory  ";
+    static final String COLORED_LINE = "[2026-10-18T16:28:23.789+0200] [] [\u001b[1;91mSEVERE\u001b[0m] [] "
+            + "[fish.payara.micro] [tid: _ThreadID=42 _ThreadName=main] [timeMillis: 1792340903789] "
+            + "[levelValue: 1000] Exception while loading the app";
+
+    @Test
+    public void testParse() {
+        LogLine line = LogLine.parse(INFO_LINE);
+        assertEquals("2026-10-18T16:28:23.123+0000", line.getTimestamp());
+        assertEquals("INFO", line.getLevel());
+        assertEquals("demo was successfully deployed in 1,234 milliseconds.", line.getMessage());
+        assertEquals("16:28:23.123", line.getTime());
+    }
+
+    @Test
+    public void testTrimsFields() {
+        LogLine line = LogLine.parse(WARNING_LINE);
+        assertEquals("WARNING", line.getLevel());
+        assertEquals("Low memory", line.getMessage());
+        assertEquals("16:28:23.456", line.getTime());
+    }
+
+    @Test
+    public void testColoredLevel() {
+        LogLine line = LogLine.parse(COLORED_LINE);
+        assertEquals("SEVERE", line.getLevel());
+        assertEquals("Exception while loading the app", line.getMessage());
+        assertEquals("16:28:23.789", line.getTime());
+    }
+
+    @Test
+    public void testOtherFormats() {
+        assertNull(LogLine.parse("Payara Micro URLs:"));
+        assertNull(LogLine.parse("[INFO] Building demo 1.0"));
+        assertNull(LogLine.parse("[2026-10-18T16:28:23.123+0000] [Payara 6.2024.1] [FINE] [levelValue: 500] trace"));
+        assertNull(LogLine.parse("[2026-10-18T16:28:23.123+0000] [Payara 6.2024.1] [INFO] no level value"));
+        assertNull(LogLine.parse("[2026-10-18T16:28:23.123+0000 [INFO] [levelValue: 800"));
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class LogMatchersTest {
+
+    private static final String DEPLOYED = "was successfully deployed";
+    private static final String FAILED = "Exception while loading the app";
+
+    @Test
+    public void testFirstAcceptingActionWins() throws Exception {
+        List<String> calls = new ArrayList<>();
+        LogMatchers matchers = new LogMatchers()
+                .add(DEPLOYED, line -> {
+                    calls.add("open");
+                    return false;
+                })
+                .add(FAILED, line -> calls.add("failed"))
+                .add(DEPLOYED, line -> calls.add("refresh"))
+                .add(DEPLOYED, line -> calls.add("unreached"));
+        assertTrue(matchers.match(LogLineTest.INFO_LINE));
+        assertEquals(Arrays.asList("open", "refresh"), calls);
+    }
+
+    @Test
+    public void testMarkersAnywhereInTheLine() throws Exception {
+        List<String> calls = new ArrayList<>();
+        LogMatchers matchers = new LogMatchers()
+                .add(DEPLOYED, line -> calls.add("deployed"))
+                .add(FAILED, line -> calls.add("failed"));
+        assertTrue(matchers.match(LogLineTest.COLORED_LINE));
+        assertTrue(matchers.match(FAILED));
+        assertFalse(matchers.match(LogLineTest.WARNING_LINE));
+        assertFalse(matchers.match("was successfully deploye"));
+        assertEquals(Arrays.asList("failed", "failed"), calls);
+    }
+
+    @Test
+    public void testOverlappingMarkers() throws Exception {
+        List<String> calls = new ArrayList<>();
+        LogMatchers matchers = new LogMatchers()
+                .add("aab", line -> calls.add("aab"))
+                .add("ab", line -> calls.add("ab"));
+        assertTrue(matchers.match("xaab"));
+        assertFalse(matchers.match("aa"));
+        assertTrue(matchers.match("xab"));
+        assertEquals(Arrays.asList("aab", "ab"), calls);
+    }
+
+    @Test
+    public void testMatchesTheTrimmedLine() throws Exception {
+        List<String> calls = new ArrayList<>();
+        LogMatchers matchers = new LogMatchers().add(DEPLOYED, line -> calls.add(line));
+        assertTrue(matchers.match(LogUtils.trimLog(LogLineTest.INFO_LINE)));
+        assertEquals(1, calls.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonAsciiMarker() {
+        new LogMatchers().add("\u00e9chec", line -> true);
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Compares {@link LogUtils#trimLog(String)} with the regular expression it
+ * replaced, and measures both on the same mix of log lines.
+ */
+public class LogUtilsTest {
+
+    private static final int LINE_COUNT = 50_000;
+    private static final String LOG_REGEX = "\\[([^\\[\\]]*)\\].*(\\[.*(INFO|WARNING|SEVERE).*\\]).*\\[levelValue\\: \\d+\\](.*)";
+    private static final String[] LINES = {
+        LogLineTest.INFO_LINE,
+        LogLineTest.WARNING_LINE,
+        LogLineTest.COLORED_LINE,
+        "[2026-10-18T16:28:24.001+0000] [] [\u001b[1;93mWARNING\u001b[0m] [] [fish.payara.micro] "
+        + "[tid: _ThreadID=42 _ThreadName=main] [timeMillis: 1792340904001] [levelValue: 900] Slow request",
+        "[2026-10-18T16:28:24.002+0000] [] [\u001b[1;92mINFO\u001b[0m] [] [fish.payara.micro] "
+        + "[tid: _ThreadID=42 _ThreadName=main] [timeMillis: 1792340904002] [levelValue: 800] ",
+        "Payara Micro URLs:",
+        "http://localhost:8080/demo",
+        "    at fish.payara.micro.impl.PayaraMicroImpl.bootStrap(PayaraMicroImpl.java:1234)",
+        "[INFO] Building demo 1.0"
+    };
+
+    private final Log log = new SystemStreamLog();
+
+    @Test
+    public void testSameOutputAsRegex() {
+        for (String line : LINES) {
+            assertEquals(line, trimLogWithRegex(line), LogUtils.trimLog(line));
+        }
+    }
+
+    @Test
+    public void testTrimLogThroughput() {
+        List<String> lines = new ArrayList<>(LINE_COUNT);
+        for (int i = 0; i < LINE_COUNT; i++) {
+            lines.add(LINES[i % LINES.length]);
+        }
+        // warms up both implementations before measuring them
+        long regexLength = 0;
+        long tokenizerLength = 0;
+        for (int i = 0; i < LINE_COUNT / 10; i++) {
+            regexLength += trimLogWithRegex(lines.get(i)).length();
+            tokenizerLength += LogUtils.trimLog(lines.get(i)).length();
+        }
+        assertEquals(regexLength, tokenizerLength);
+
+        long startTime = System.nanoTime();
+        regexLength = 0;
+        for (String line : lines) {
+            regexLength += trimLogWithRegex(line).length();
+        }
+        report("Regex", startTime);
+        startTime = System.nanoTime();
+        tokenizerLength = 0;
+        for (String line : lines) {
+            tokenizerLength += LogUtils.trimLog(line).length();
+        }
+        report("Tokenizer", startTime);
+        assertEquals(regexLength, tokenizerLength);
+    }
+
+    private void report(String mode, long startTime) {
+        double millis = (System.nanoTime() - startTime) / 1_000_000.0;
+        log.info(String.format("%s: %d lines in %.1f ms, %.0f lines/ms", mode, LINE_COUNT, millis, LINE_COUNT / millis));
+    }
+
+    /**
+     * The implementation of {@link LogUtils#trimLog(String)} before the
+     * tokenizer.
+     */
+    private static String trimLogWithRegex(String line) {
+        Matcher matcher = Pattern.compile(LOG_REGEX).matcher(line);
+        if (!matcher.find()) {
+            return line;
+        }
+        String timestamp = matcher.group(1).trim();
+        String level = matcher.group(3).trim();
+        String content = matcher.group(4).trim();
+        int timeStartIndex = timestamp.indexOf('T') + 1;
+        int offsetSignIndex = timestamp.indexOf('+', timeStartIndex);
+        if (offsetSignIndex == -1) {
+            offsetSignIndex = timestamp.indexOf('-', timeStartIndex);
+        }
+        String time = "\033[97m[" + timestamp.substring(timeStartIndex, offsetSignIndex) + "]\033[0m  ";
+        switch (level) {
+            case "WARNING":
+                return time + "\033[93m[WARNING]\033[0m " + content;
+            case "SEVERE":
+                return time + "\033[91m[SEVERE]\033[0m " + content;
+            default:
+                return time + content;
+        }
+    }
+
+}
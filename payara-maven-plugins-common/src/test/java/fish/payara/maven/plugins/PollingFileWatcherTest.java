@@ -0,0 +1,99 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PollingFileWatcherTest {
+
+    private static final int FILE_COUNT = 10_000;
+    private static final int ROUNDS = 20;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testScanDetectsChanges() throws Exception {
+        Path root = folder.getRoot().toPath();
+        for (int i = 0; i < FILE_COUNT; i++) {
+            Path directory = Files.createDirectories(root.resolve("package" + (i % 100)));
+            Files.write(directory.resolve("Source" + i + ".java"), ("class Source" + i + " {}").getBytes());
+        }
+        SystemStreamLog log = new SystemStreamLog();
+        PollingFileWatcher watcher = new PollingFileWatcher(Collections.singletonList(root), path -> false, 0, log);
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            assertTrue(watcher.poll(0, TimeUnit.MILLISECONDS).isEmpty());
+        }
+        double scanMillis = (System.nanoTime() - startTime) / 1_000_000.0 / ROUNDS;
+        log.info(String.format("Scan of %d files: %.2f ms", FILE_COUNT, scanMillis));
+
+        Files.write(root.resolve("package0").resolve("Source0.java"), "class Source0 { int i; }".getBytes());
+        Files.delete(root.resolve("package1").resolve("Source1.java"));
+        Files.write(root.resolve("package2").resolve("Created.java"), "class Created {}".getBytes());
+        Map<Path, WatchEvent.Kind<?>> changes = new HashMap<>();
+        List<FileChange> polled = watcher.poll(0, TimeUnit.MILLISECONDS);
+        for (FileChange change : polled) {
+            changes.put(change.getPath(), change.getKind());
+        }
+        assertEquals(polled.toString(), 3, changes.size());
+        assertEquals(ENTRY_MODIFY, changes.get(root.resolve("package0").resolve("Source0.java")));
+        assertEquals(ENTRY_DELETE, changes.get(root.resolve("package1").resolve("Source1.java")));
+        assertEquals(ENTRY_CREATE, changes.get(root.resolve("package2").resolve("Created.java")));
+        watcher.close();
+    }
+
+}
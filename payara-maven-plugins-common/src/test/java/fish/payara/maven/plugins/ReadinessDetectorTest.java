@@ -0,0 +1,142 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class ReadinessDetectorTest {
+
+    @Test
+    public void testReadyMarker() throws Exception {
+        ReadinessDetector detector = detector(Arrays.asList("was successfully initialized", "Payara Micro URLs"), Collections.emptyList());
+        assertFalse(detector.accept("Starting the server"));
+        assertFalse(detector.getFuture().isDone());
+        assertTrue(detector.accept("[2026-10-18] Payara Micro URLs: http://localhost:8080"));
+        assertEquals("[2026-10-18] Payara Micro URLs: http://localhost:8080", detector.await(1L));
+        assertFalse(detector.accept("Payara Micro URLs"));
+    }
+
+    @Test
+    public void testFailureMarker() throws Exception {
+        ReadinessDetector detector = detector(Collections.singletonList("started"), Collections.singletonList("Address already in use"));
+        assertFalse(detector.accept("  java.net.BindException: Address already in use  "));
+        try {
+            detector.await(1L);
+            fail();
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof IllegalStateException);
+            assertEquals("java.net.BindException: Address already in use", ex.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testFailureWinsOverReadinessOnSameLine() throws Exception {
+        ReadinessDetector detector = detector(Collections.singletonList("started"), Collections.singletonList("failed"));
+        assertFalse(detector.accept("started but failed"));
+        assertTrue(detector.getFuture().isCompletedExceptionally());
+    }
+
+    @Test
+    public void testOverlappingMarkers() {
+        // "he" is only reachable through the failure links of "she" and "hers"
+        assertTrue(detector(Collections.singletonList("he"), Arrays.asList("xshe", "hers!")).accept("ushe"));
+        assertTrue(detector(Collections.singletonList("his"), Arrays.asList("she", "hers")).accept("this"));
+        assertTrue(detector(Collections.singletonList("aab"), Collections.emptyList()).accept("aaab"));
+        assertTrue(detector(Collections.singletonList("abcabd"), Collections.emptyList()).accept("abcabcabd"));
+        assertFalse(detector(Collections.singletonList("abcabd"), Collections.emptyList()).accept("abcabcab"));
+    }
+
+    @Test
+    public void testMarkersDoNotSpanLines() {
+        ReadinessDetector detector = detector(Collections.singletonList("ready"), Collections.emptyList());
+        assertFalse(detector.accept("rea"));
+        assertFalse(detector.accept("dy"));
+        assertFalse(detector.getFuture().isDone());
+    }
+
+    @Test
+    public void testNonAsciiCharactersResetTheMatch() {
+        ReadinessDetector detector = detector(Collections.singletonList("ready"), Collections.emptyList());
+        assertFalse(detector.accept("rea\u00e9dy"));
+        assertTrue(detector.accept("\u00e9t\u00e9 ready \u00e9t\u00e9"));
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        ReadinessDetector detector = detector(Collections.singletonList("ready"), Collections.emptyList());
+        detector.close();
+        assertNull(detector.await(null));
+        assertFalse(detector.accept("ready"));
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void testTimeout() throws Exception {
+        detector(Collections.singletonList("ready"), Collections.emptyList()).await(1L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonAsciiMarker() {
+        detector(Collections.singletonList("pr\u00eat"), Collections.emptyList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyMarkers() {
+        List<String> markers = new ArrayList<>();
+        for (int i = 0; i <= Integer.SIZE; i++) {
+            markers.add("marker" + i);
+        }
+        detector(markers, Collections.emptyList());
+    }
+
+    private static ReadinessDetector detector(List<String> readyMarkers, List<String> failureMarkers) {
+        return new ReadinessDetector(readyMarkers, failureMarkers);
+    }
+
+}
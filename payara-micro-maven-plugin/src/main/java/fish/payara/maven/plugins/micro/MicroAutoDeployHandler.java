@@ -75,7 +75,7 @@ public class MicroAutoDeployHandler extends AutoDeployHandler {
                 reloadMojo.setContextRoot(start.contextRoot);
             }
             reloadMojo.setKeepState(start.keepState);
-            if (start.hotDeploy) {
+            if (start.hotDeploy && !isLibrariesUpdated()) {
                 Path rootPath = project.getBasedir().toPath();
                 List<String> sourcesChanged = new ArrayList<>();
                 reloadMojo.setHotDeploy(start.hotDeploy);
@@ -99,4 +99,9 @@ public class MicroAutoDeployHandler extends AutoDeployHandler {
         }
     }
 
+    @Override
+    protected boolean isDeploymentLogged() {
+        return start.isDeploymentLogged();
+    }
+
 }
@@ -38,9 +38,13 @@
  */
 package fish.payara.maven.plugins.micro;
 
+import fish.payara.maven.plugins.HotSwapClient;
+import fish.payara.maven.plugins.ConsoleWriter;
+import fish.payara.maven.plugins.LogMatchers;
 import fish.payara.maven.plugins.LogUtils;
 import fish.payara.maven.plugins.AutoDeployHandler;
 import fish.payara.maven.plugins.PropertiesUtils;
+import fish.payara.maven.plugins.ReadinessDetector;
 import fish.payara.maven.plugins.StartTask;
 import fish.payara.maven.plugins.WebDriverFactory;
 import fish.payara.maven.plugins.micro.processor.MicroFetchProcessor;
@@ -50,6 +54,7 @@ import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.dependency.fromConfiguration.ArtifactItem;
 import org.apache.maven.toolchain.Toolchain;
@@ -60,10 +65,16 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import static java.util.Collections.singletonList;
+import static fish.payara.maven.plugins.Configuration.DEFAULT_BUILD_MAX_LATENCY;
+import static fish.payara.maven.plugins.Configuration.DEFAULT_BUILD_QUIET_PERIOD;
 import static fish.payara.maven.plugins.micro.Configuration.*;
 import java.awt.Desktop;
+import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
@@ -74,6 +85,10 @@ import java.util.regex.Pattern;
 import org.openqa.selenium.WebDriver;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.Maven;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.LegacySupport;
+import org.apache.maven.project.ProjectBuilder;
 import org.apache.maven.plugin.MojoExecutionException;
 
 /**
@@ -88,6 +103,10 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
     private static final String PRE_BOOT = "--prebootcommandfile";
     private static final String POST_BOOT = "--postbootcommandfile";
     private static final String POST_DEPLOY = "--postdeploycommandfile";
+    private static final Pattern HOST_IP_REGEX = Pattern.compile(HOST_IP_PATTERN);
+    private static final Pattern HOST_PORT_REGEX = Pattern.compile(HOST_PORT_PATTERN);
+    private static final Pattern LOADING_APPLICATION_REGEX = Pattern.compile(LOADING_APPLICATION_PATTERN);
+    private static final Pattern APP_DEPLOYED_REGEX = Pattern.compile(APP_DEPLOYED_PATTERN);
 
     @Parameter(property = "payara.java.home", defaultValue = "${env.PAYARA_JAVA_HOME}")
     private String javaHome;
@@ -129,6 +148,13 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
     @Parameter(property = "payara.immediate.exit", defaultValue = "${env.PAYARA_IMMEDIATE_EXIT}")
     private boolean immediateExit;
 
+    /**
+     * Maximum time in seconds to wait for payara-micro to become ready in
+     * daemon mode, waiting indefinitely if not set.
+     */
+    @Parameter(property = "payara.start.timeout", defaultValue = "${env.PAYARA_START_TIMEOUT}")
+    private Long startTimeout;
+
     @Parameter
     private ArtifactItem artifactItem;
 
@@ -168,6 +194,41 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
     @Parameter(property = "payara.hot.deploy", defaultValue = "${env.PAYARA_HOT_DEPLOY}")
     protected boolean hotDeploy;
 
+    /**
+     * Redefines the recompiled classes over the debug connection instead of
+     * reloading the application when only method bodies changed. Applies
+     * when debugging is enabled.
+     */
+    @Parameter(property = "payara.hot.swap", defaultValue = "${env.PAYARA_HOT_SWAP}")
+    protected Boolean hotSwap;
+
+    @Component
+    private Maven maven;
+
+    @Component
+    private LegacySupport legacySupport;
+
+    @Component
+    private ProjectBuilder projectBuilder;
+
+    /**
+     * Runs the auto-deploy builds inside the current Maven JVM instead of
+     * forking a new Maven process for each change. Enabled by default, set
+     * <code>payara.embedded.build</code> to <code>false</code> to always fork;
+     * the builds are forked anyway once the embedded build cannot run.
+     */
+    @Parameter(property = "payara.embedded.build", defaultValue = "${env.PAYARA_EMBEDDED_BUILD}")
+    protected Boolean embeddedBuild;
+
+    @Parameter(property = "payara.build.quiet.period", defaultValue = "${env.PAYARA_BUILD_QUIET_PERIOD}")
+    protected Long buildQuietPeriod;
+
+    @Parameter(property = "payara.build.max.latency", defaultValue = "${env.PAYARA_BUILD_MAX_LATENCY}")
+    protected Long buildMaxLatency;
+
+    @Parameter(property = "payara.watch.ignore")
+    protected List<String> watchIgnore;
+
     /**
      * The directory where the webapp is built, default value is exploded war.
      */
@@ -202,6 +263,9 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
 
     private Process microProcess;
     private Thread microProcessorThread;
+    private ReadinessDetector readiness;
+    private String debugOption;
+    private ConsoleWriter console;
     private final ThreadGroup threadGroup;
     private Toolchain toolchain;
 
@@ -283,6 +347,18 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
         if (keepState == null) {
             keepState = false;
         }
+        if (embeddedBuild == null) {
+            embeddedBuild = true;
+        }
+        if (buildQuietPeriod == null) {
+            buildQuietPeriod = DEFAULT_BUILD_QUIET_PERIOD;
+        }
+        if (buildMaxLatency == null) {
+            buildMaxLatency = DEFAULT_BUILD_MAX_LATENCY;
+        }
+        if (watchIgnore == null) {
+            watchIgnore = new ArrayList<>();
+        }
         if (autoDeploy && autoDeployHandler == null) {
             autoDeployHandler = new MicroAutoDeployHandler(this, webappDirectory);
             Thread devModeThread = new Thread(autoDeployHandler);
@@ -306,6 +382,8 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
         toolchain = getToolchain();
         final String path = decideOnWhichMicroToUse();
 
+        readiness = new ReadinessDetector(singletonList(MICRO_READY_MESSAGE), singletonList(APP_DEPLOYMENT_FAILED));
+        console = new ConsoleWriter(threadGroup);
         microProcessorThread = new Thread(threadGroup, () -> {
 
             final List<String> actualArgs = new ArrayList<>();
@@ -315,10 +393,11 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
 
             if (debug != null && !debug.equalsIgnoreCase("false")) {
                 if (Boolean.parseBoolean(debug)) {
-                    actualArgs.add(indice++, "-agentlib:jdwp=transport=dt_socket,server=y,suspend=y,address=5005");
+                    debugOption = "-agentlib:jdwp=transport=dt_socket,server=y,suspend=y,address=5005";
                 } else {
-                    actualArgs.add(indice++, debug);
+                    debugOption = debug;
                 }
+                actualArgs.add(indice++, debugOption);
             }
 
             if (javaCommandLineOptions != null) {
@@ -423,8 +502,10 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
                 }
             } catch (InterruptedException ignored) {
             } catch (Exception e) {
+                readiness.fail(e);
                 throw new RuntimeException(ERROR_MESSAGE, e);
             } finally {
+                readiness.close();
                 if (!daemon) {
                     closeMicroProcess();
                 }
@@ -436,6 +517,7 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
             microProcessorThread.start();
 
             if (!immediateExit) {
+                awaitReadiness();
                 try {
                     microProcessorThread.join();
                 } catch (InterruptedException e) {
@@ -454,6 +536,20 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
         }
     }
 
+    private void awaitReadiness() throws MojoExecutionException {
+        try {
+            readiness.await(startTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            closeMicroProcess();
+            throw new MojoExecutionException(ERROR_MESSAGE, e.getCause());
+        } catch (TimeoutException e) {
+            closeMicroProcess();
+            throw new MojoExecutionException("payara-micro did not become ready in " + startTimeout + " seconds.");
+        }
+    }
+
     private Thread getShutdownHook() {
         return new Thread(threadGroup, () -> {
             if (microProcess != null && microProcess.isAlive()) {
@@ -468,6 +564,9 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
             if (autoDeployHandler != null) {
                 autoDeployHandler.stop();
             }
+            if (console != null) {
+                console.close();
+            }
             if (driver != null) {
                 try {
                     String currentUrl = driver.getCurrentUrl();
@@ -588,15 +687,13 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
     private void redirectStream(final InputStream inputStream, final PrintStream printStream) {
         final Thread thread = new Thread(threadGroup, () -> {
             BufferedReader br;
-            StringBuilder sb = new StringBuilder();
 
             String line;
             try {
                 br = new BufferedReader(new InputStreamReader(inputStream));
                 while ((line = br.readLine()) != null) {
-                    sb.append(line);
-                    printStream.println(line);
-                    if (!immediateExit && sb.toString().contains(MICRO_READY_MESSAGE)) {
+                    console.println(printStream, line);
+                    if (readiness.accept(line) && !immediateExit) {
                         microProcessorThread.interrupt();
                         br.close();
                         break;
@@ -618,41 +715,60 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
                     BufferedReader br = new BufferedReader(new InputStreamReader(inputStream));
                     PrintStream printStream = (PrintStream) outputStream;
 
+                    LogMatchers matchers = new LogMatchers()
+                            .add(INSTANCE_CONFIGURATION, l -> {
+                                if (hostIp == null && l.endsWith(INSTANCE_CONFIGURATION)) {
+                                    parseInstanceConfig(br, printStream);
+                                    return true;
+                                }
+                                return false;
+                            })
+                            .add(PAYARA_MICRO_URLS, l -> {
+                                if (payaraMicroURL == null) {
+                                    parseMicroUrl(br, printStream);
+                                    return true;
+                                }
+                                return false;
+                            })
+                            .add(APP_DEPLOYMENT_FAILED, l -> {
+                                WebDriverFactory.updateTitle(APP_DEPLOYMENT_FAILED_MESSAGE, getEnvironment().getMavenProject(), driver, this.getLog());
+                                return true;
+                            })
+                            .add(LOADING_APPLICATION, l -> {
+                                if (payaraMicroURL != null && payaraMicroURL.isEmpty() && driver == null) {
+                                    parseContextRoot(l);
+                                    return true;
+                                }
+                                return false;
+                            })
+                            .add(APP_DEPLOYED, l -> {
+                                if (payaraMicroURL != null && payaraMicroURL.isEmpty() && driver == null) {
+                                    String appName = parseDeployedApp(l);
+                                    if (contextRoot == null) {
+                                        contextRoot = contextRoots.get(appName);
+                                    }
+                                    openApp();
+                                    return true;
+                                }
+                                return false;
+                            })
+                            .add(APP_DEPLOYED, l -> {
+                                // completes the reload cycle even without a browser to refresh
+                                WebDriverFactory.refresh(payaraMicroURL != null && !payaraMicroURL.isEmpty() ? driver : null,
+                                        autoDeployHandler != null ? autoDeployHandler.getReloadTimings() : null, getLog());
+                                return true;
+                            })
+                            .add(INOTIFY_USER_LIMIT_REACHED_MESSAGE, l -> {
+                                if (autoDeploy) {
+                                    getLog().error(WATCH_SERVICE_ERROR_MESSAGE);
+                                    return true;
+                                }
+                                return false;
+                            });
+
                     while ((line = br.readLine()) != null) {
-                        printStream.println(trimLog ? LogUtils.trimLog(line) : line);
-                        if (hostIp == null && line.endsWith(INSTANCE_CONFIGURATION)) {
-                            parseInstanceConfig(br, printStream);
-                        } else if (payaraMicroURL == null && line.contains(PAYARA_MICRO_URLS)) {
-                            parseMicroUrl(br, printStream);
-                        } else if (line.contains(APP_DEPLOYMENT_FAILED)) {
-                            WebDriverFactory.updateTitle(APP_DEPLOYMENT_FAILED_MESSAGE, getEnvironment().getMavenProject(), driver, this.getLog());
-                        } else if (payaraMicroURL != null
-                                && payaraMicroURL.isEmpty()
-                                && driver == null
-                                && line.contains(LOADING_APPLICATION)) {
-                            parseContextRoot(line);
-                        } else if (payaraMicroURL != null
-                                && payaraMicroURL.isEmpty()
-                                && driver == null
-                                && line.contains(APP_DEPLOYED)) {
-                            String appName = parseDeployedApp(line);
-                            if (contextRoot == null) {
-                                contextRoot = contextRoots.get(appName);
-                            }
-                            openApp();
-                        } else if (payaraMicroURL != null
-                                && !payaraMicroURL.isEmpty()
-                                && driver != null
-                                && line.contains(APP_DEPLOYED)) {
-                            try {
-                                driver.navigate().refresh();
-                            } catch (Exception ex) {
-                                getLog().debug("Error in refreshing with WebDriver", ex);
-                            }
-                        } else if (autoDeploy
-                                && line.contains(INOTIFY_USER_LIMIT_REACHED_MESSAGE)) {
-                            getLog().error(WATCH_SERVICE_ERROR_MESSAGE);
-                        }
+                        console.println(printStream, trimLog ? LogUtils.trimLog(line) : line);
+                        matchers.match(line);
                     }
                 } else {
                     IOUtils.copy(inputStream, outputStream);
@@ -694,18 +810,16 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
     private void parseInstanceConfig(BufferedReader br, PrintStream printStream) throws IOException {
         String hostIpLine = br.readLine();
         String hostPortLine = br.readLine();
-        printStream.println(LogUtils.highlight(hostIpLine));
-        printStream.println(LogUtils.highlight(hostPortLine));
+        console.println(printStream, LogUtils.highlight(hostIpLine));
+        console.println(printStream, LogUtils.highlight(hostPortLine));
         // Extract IP address
-        Pattern ipRegex = Pattern.compile(HOST_IP_PATTERN);
-        Matcher ipMatcher = ipRegex.matcher(hostIpLine);
+        Matcher ipMatcher = HOST_IP_REGEX.matcher(hostIpLine);
         if (ipMatcher.find()) {
             hostIp = ipMatcher.group(1);
         }
 
         // Extract port
-        Pattern portRegex = Pattern.compile(HOST_PORT_PATTERN);
-        Matcher portMatcher = portRegex.matcher(hostPortLine);
+        Matcher portMatcher = HOST_PORT_REGEX.matcher(hostPortLine);
         if (portMatcher.find()) {
             hostPort = portMatcher.group(1);
         }
@@ -715,7 +829,7 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
         String line = br.readLine();
         if (line != null) {
             payaraMicroURL = line.trim();
-            printStream.println(LogUtils.highlight(payaraMicroURL));
+            console.println(printStream, LogUtils.highlight(payaraMicroURL));
             if (!payaraMicroURL.isEmpty()) {
                 openApp();
             }
@@ -723,8 +837,7 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
     }
 
     private void parseContextRoot(String line) {
-        Pattern appLoadingPattern = Pattern.compile(LOADING_APPLICATION_PATTERN);
-        Matcher appLoadingMatcher = appLoadingPattern.matcher(line);
+        Matcher appLoadingMatcher = LOADING_APPLICATION_REGEX.matcher(line);
 
         if (appLoadingMatcher.find()) {
             String applicationName = appLoadingMatcher.group(1);
@@ -734,8 +847,7 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
     }
 
     private String parseDeployedApp(String line) {
-        Pattern deploymentPatternO = Pattern.compile(APP_DEPLOYED_PATTERN);
-        Matcher deploymentMatcher = deploymentPatternO.matcher(line);
+        Matcher deploymentMatcher = APP_DEPLOYED_REGEX.matcher(line);
 
         if (deploymentMatcher.find()) {
             String applicationName = deploymentMatcher.group(1);
@@ -749,6 +861,15 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
         return driver;
     }
 
+    /**
+     * @return <code>true</code> if the deployments are detected in the output
+     * of Payara Micro, which is only scanned with live reload outside daemon
+     * mode.
+     */
+    boolean isDeploymentLogged() {
+        return liveReload && !daemon;
+    }
+
     @Override
     public MavenProject getProject() {
         return this.getEnvironment().getMavenProject();
@@ -769,4 +890,49 @@ public class StartMojo extends BasePayaraMojo implements StartTask {
         return ignoreTestChanges;
     }
 
+    @Override
+    public MavenSession getSession() {
+        return mavenSession;
+    }
+
+    @Override
+    public Maven getMaven() {
+        return maven;
+    }
+
+    @Override
+    public LegacySupport getLegacySupport() {
+        return legacySupport;
+    }
+
+    @Override
+    public ProjectBuilder getProjectBuilder() {
+        return projectBuilder;
+    }
+
+    @Override
+    public boolean isEmbeddedBuild() {
+        return embeddedBuild;
+    }
+
+    @Override
+    public long getBuildQuietPeriod() {
+        return buildQuietPeriod;
+    }
+
+    @Override
+    public long getBuildMaxLatency() {
+        return buildMaxLatency;
+    }
+
+    @Override
+    public List<String> getWatchIgnore() {
+        return watchIgnore;
+    }
+
+    @Override
+    public InetSocketAddress getHotSwapAddress() {
+        return Boolean.FALSE.equals(hotSwap) ? null : HotSwapClient.getAddress(debugOption);
+    }
+
 }
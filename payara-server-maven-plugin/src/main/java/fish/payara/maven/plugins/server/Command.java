@@ -55,6 +55,7 @@ public class Command {
     private boolean dirDeploy;
     private String contextRoot;
     private boolean hotDeploy;
+    private boolean keepState;
     private String contentType = CONTENT_TYPE_JSON;
 
     public Command(String rootPath, String command, String value) {
@@ -115,6 +116,14 @@ public class Command {
         this.hotDeploy = hotDeploy;
     }
 
+    public boolean isKeepState() {
+        return keepState;
+    }
+
+    public void setKeepState(boolean keepState) {
+        this.keepState = keepState;
+    }
+
     public String getInstanceName() {
         return instanceName;
     }
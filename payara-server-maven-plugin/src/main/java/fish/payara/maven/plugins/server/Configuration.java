@@ -54,6 +54,9 @@ public interface Configuration {
     
     String ASADMIN = "asadmin";
 
+    String DELTA_DEPLOYMENT_MANIFEST = "payara-remote-deploy.manifest";
+    String LAUNCH_PLAN_FILE = "payara-maven-launch.plan";
+
     // Log parser
     String INSTANCE_CONFIGURATION = " \"Instance Configuration\": {";
     String HOST_IP_PATTERN = "\"Host\": \"([^\"]+)\"";
@@ -42,12 +42,20 @@ import fish.payara.tools.ai.MarkdownToCmdHighlighter;
 import fish.payara.tools.ai.PayaraAIAgent;
 import fish.payara.maven.plugins.server.manager.PayaraServerRemoteInstance;
 import fish.payara.maven.plugins.server.manager.RemoteInstanceManager;
+import fish.payara.maven.plugins.server.manager.RemoteLogStreamer;
 import fish.payara.maven.plugins.server.manager.PayaraServerLocalInstance;
+import fish.payara.maven.plugins.server.manager.DomainTemplate;
 import fish.payara.maven.plugins.server.manager.LocalInstanceManager;
+import fish.payara.maven.plugins.server.manager.DeltaDeployment;
 import fish.payara.maven.plugins.server.manager.InstanceManager;
 import fish.payara.maven.plugins.AutoDeployHandler;
+import fish.payara.maven.plugins.ConsoleWriter;
+import fish.payara.maven.plugins.HotSwapClient;
+import fish.payara.maven.plugins.LogMatchers;
+import fish.payara.maven.plugins.LogTailer;
 import fish.payara.maven.plugins.LogUtils;
 import fish.payara.maven.plugins.PropertiesUtils;
+import fish.payara.maven.plugins.ReadinessDetector;
 import fish.payara.maven.plugins.StartTask;
 import fish.payara.maven.plugins.WebDriverFactory;
 import org.apache.commons.io.IOUtils;
@@ -57,30 +65,46 @@ import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.twdata.maven.mojoexecutor.MojoExecutor;
 
 import java.io.*;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static fish.payara.maven.plugins.Configuration.DEFAULT_BUILD_MAX_LATENCY;
+import static fish.payara.maven.plugins.Configuration.DEFAULT_BUILD_QUIET_PERIOD;
 import static fish.payara.maven.plugins.server.Configuration.*;
 import fish.payara.maven.plugins.server.manager.PayaraServerInstance;
+import static fish.payara.maven.plugins.server.manager.PayaraServerLocalInstance.DOMAINS_DIR;
+import static fish.payara.maven.plugins.server.manager.PayaraServerLocalInstance.GLASSFISH_DIR;
 import static fish.payara.maven.plugins.server.manager.PayaraServerLocalInstance.HTTP;
 import fish.payara.maven.plugins.server.utils.TempDirectoryResolver;
+import fish.payara.maven.plugins.server.utils.ZipExtractor;
 import fish.payara.tools.ai.lang.PreferencesManager;
 import java.awt.Desktop;
+import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Scanner;
 import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 import org.apache.commons.lang.StringUtils;
+import org.apache.maven.Maven;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.LegacySupport;
+import org.apache.maven.project.ProjectBuilder;
 import org.apache.maven.project.MavenProject;
 import org.openqa.selenium.WebDriver;
 
@@ -95,7 +119,6 @@ public class StartMojo extends ServerMojo implements StartTask {
     private static final String ERROR_MESSAGE = "Errors occurred while executing payara-server.";
     private static final String REMOTE_INSTANCE_NOT_RUNNING_MESSAGE = "The remote Payara server instance is not running.";
     private static final String INPUT_PROMPT = "\033[44;97m payara \033[0m ";
-    private volatile boolean waitingForInput = false;
 
     /**
      * Runs Payara server as a daemon (background process).
@@ -109,6 +132,20 @@ public class StartMojo extends ServerMojo implements StartTask {
     @Parameter(property = "payara.immediate.exit", defaultValue = "${env.PAYARA_IMMEDIATE_EXIT}")
     private boolean immediateExit;
 
+    /**
+     * Maximum time in seconds to wait for the server to become ready in
+     * daemon mode, waiting indefinitely if not set.
+     */
+    @Parameter(property = "payara.start.timeout", defaultValue = "${env.PAYARA_START_TIMEOUT}")
+    private Long startTimeout;
+
+    /**
+     * Kilobytes of the existing server log to print when attaching to an
+     * already running server.
+     */
+    @Parameter(property = "payara.log.backfill", defaultValue = "${env.PAYARA_LOG_BACKFILL}")
+    private Integer logBackfill;
+
     /**
      * Enables automatic deployment of the application.
      */
@@ -122,7 +159,8 @@ public class StartMojo extends ServerMojo implements StartTask {
     protected boolean ignoreTestChanges = true;
 
     /**
-     * Keeps the current state of the Payara server on restart.
+     * Keeps the current state of the Payara server on restart, and the
+     * sessions of the application when it is redeployed.
      */
     @Parameter(property = "payara.keep.state", defaultValue = "${env.PAYARA_KEEP_STATE}")
     protected Boolean keepState;
@@ -151,6 +189,81 @@ public class StartMojo extends ServerMojo implements StartTask {
     @Parameter(property = "payara.hot.deploy", defaultValue = "${env.PAYARA_HOT_DEPLOY}")
     protected boolean hotDeploy;
 
+    /**
+     * Redefines the recompiled classes over the debug connection instead of
+     * redeploying the application when only method bodies changed. Applies
+     * to local instances started in debug mode.
+     */
+    @Parameter(property = "payara.hot.swap", defaultValue = "${env.PAYARA_HOT_SWAP}")
+    protected Boolean hotSwap;
+
+    /**
+     * Runs the server in a domain provisioned for this run from a pristine
+     * template of the domain, with its own free ports, including the debug
+     * port, so that concurrent runs of the same installation do not
+     * interfere. Applies to local instances.
+     */
+    @Parameter(property = "payara.isolated.domain", defaultValue = "${env.PAYARA_ISOLATED_DOMAIN}")
+    protected boolean isolatedDomain;
+
+    /**
+     * Directory shared with the remote host, e.g. a network mount, into
+     * which the application is synchronized entry by entry so that only the
+     * changed entries are transferred on redeployment. The application is
+     * written to a subdirectory named after it. Only applies to remote
+     * instances.
+     */
+    @Parameter(property = "payara.remote.deploy.directory", defaultValue = "${env.PAYARA_REMOTE_DEPLOY_DIRECTORY}")
+    protected File remoteDeployDirectory;
+
+    /**
+     * Path of the {@link #remoteDeployDirectory} on the remote host, if it
+     * differs from the local path.
+     */
+    @Parameter(property = "payara.remote.deploy.path", defaultValue = "${env.PAYARA_REMOTE_DEPLOY_PATH}")
+    protected String remoteDeployPath;
+
+    @Component
+    private Maven maven;
+
+    @Component
+    private LegacySupport legacySupport;
+
+    @Component
+    private ProjectBuilder projectBuilder;
+
+    /**
+     * Runs the auto-deploy builds inside the current Maven JVM instead of
+     * forking a new Maven process for each change. Enabled by default, set
+     * <code>payara.embedded.build</code> to <code>false</code> to always fork;
+     * the builds are forked anyway once the embedded build cannot run.
+     */
+    @Parameter(property = "payara.embedded.build", defaultValue = "${env.PAYARA_EMBEDDED_BUILD}")
+    protected Boolean embeddedBuild;
+
+    /**
+     * Milliseconds without further source changes before an auto-deploy
+     * build starts.
+     */
+    @Parameter(property = "payara.build.quiet.period", defaultValue = "${env.PAYARA_BUILD_QUIET_PERIOD}")
+    protected Long buildQuietPeriod;
+
+    /**
+     * Maximum milliseconds a source change waits for its auto-deploy build
+     * while further changes keep coming in.
+     */
+    @Parameter(property = "payara.build.max.latency", defaultValue = "${env.PAYARA_BUILD_MAX_LATENCY}")
+    protected Long buildMaxLatency;
+
+    /**
+     * Additional <code>.gitignore</code> style patterns of paths that are not
+     * watched for changes, on top of <code>.gitignore</code> and
+     * <code>.payaraignore</code>. Patterns starting with <code>!</code>
+     * re-include paths ignored by these files.
+     */
+    @Parameter(property = "payara.watch.ignore")
+    protected List<String> watchIgnore;
+
     /**
      * The directory where the web application is built.
      * Default value points to the exploded directory.
@@ -213,13 +326,25 @@ public class StartMojo extends ServerMojo implements StartTask {
     @Parameter(property = "payara.http.read.timeout", defaultValue = "${env.PAYARA_HTTP_READ_TIMEOUT}")
     public Integer httpReadTimeout;
 
+    /**
+     * Negotiates HTTP/2 with the administration interface, falling back to
+     * HTTP/1.1 if it is not supported.
+     */
+    @Parameter(property = "payara.admin.http2", defaultValue = "false")
+    public boolean adminHttp2;
+
     private Process serverProcess;
     private Thread serverProcessorThread;
+    private ReadinessDetector readiness;
+    private ConsoleWriter console;
+    private final LogMatchers logMatchers = createDeploymentMatchers();
     private final ThreadGroup threadGroup;
     private AutoDeployHandler autoDeployHandler;
     private WebDriver driver;
     private String applicationURL;
     private InstanceManager serverManager;
+    private DomainTemplate domainTemplate;
+    private String isolatedDomainName;
     private String appPath, projectName;
     private PayaraServerInstance instance;
     private PayaraAIAgent payaraAIAgent;
@@ -258,6 +383,18 @@ public class StartMojo extends ServerMojo implements StartTask {
         if (aiAgent == null) {
             aiAgent = false;
         }
+        if (embeddedBuild == null) {
+            embeddedBuild = true;
+        }
+        if (buildQuietPeriod == null) {
+            buildQuietPeriod = DEFAULT_BUILD_QUIET_PERIOD;
+        }
+        if (buildMaxLatency == null) {
+            buildMaxLatency = DEFAULT_BUILD_MAX_LATENCY;
+        }
+        if (watchIgnore == null) {
+            watchIgnore = new ArrayList<>();
+        }
         if (autoDeploy && autoDeployHandler == null) {
             autoDeployHandler = new ServerAutoDeployHandler(this, webappDirectory);
             Thread devModeThread = new Thread(autoDeployHandler);
@@ -341,6 +478,8 @@ public class StartMojo extends ServerMojo implements StartTask {
             }
         }
 
+        readiness = new ReadinessDetector(singletonList(SERVER_READY_MESSAGE), emptyList());
+        console = new ConsoleWriter(threadGroup);
         serverProcessorThread = new Thread(threadGroup, () -> {
             if (remote) {
                 instance = new PayaraServerRemoteInstance(hostName);
@@ -357,11 +496,18 @@ public class StartMojo extends ServerMojo implements StartTask {
                 }
                 instance.setHttpConnectionTimeout(httpConnectionTimeout);
                 instance.setHttpReadTimeout(httpReadTimeout);
+                instance.setHttp2(adminHttp2);
                 if (protocol != null) {
                     instance.setProtocol(protocol);
                 }
                 serverManager = new RemoteInstanceManager((PayaraServerRemoteInstance) instance, getLog());
+                if (remoteDeployDirectory != null) {
+                    ((RemoteInstanceManager) serverManager).setDeltaDeployment(new DeltaDeployment(
+                            remoteDeployDirectory.toPath(), remoteDeployPath,
+                            Paths.get(getBaseDir(), DELTA_DEPLOYMENT_MANIFEST), getLog()));
+                }
                 if (serverManager.isServerAlreadyRunning()) {
+                    readiness.close();
                     Thread logThread = streamRemoteServerLog();
                     appPath = evaluateProjectArtifactAbsolutePath("." + mavenProject.getPackaging());
                     projectName = mavenProject.getName().replaceAll("\\s+", "");
@@ -373,13 +519,23 @@ public class StartMojo extends ServerMojo implements StartTask {
                         e.printStackTrace();
                     }
                 } else {
-                    throw new RuntimeException(REMOTE_INSTANCE_NOT_RUNNING_MESSAGE);
+                    RuntimeException e = new RuntimeException(REMOTE_INSTANCE_NOT_RUNNING_MESSAGE);
+                    readiness.fail(e);
+                    throw e;
                 }
             } else {
                 try {
                     final String path = decideOnWhichServerToUse();
+                    String domain = domainName;
+                    if (isolatedDomain) {
+                        if (domainTemplate == null) {
+                            domainTemplate = new DomainTemplate(Paths.get(path, GLASSFISH_DIR, DOMAINS_DIR), domainName, getLog());
+                            isolatedDomainName = domainTemplate.materialize(getFixedPorts());
+                        }
+                        domain = isolatedDomainName;
+                    }
                     if (aiAgent) {
-                        String dn = (domainName != null && !domainName.isBlank()) ? domainName : "domain1";
+                        String dn = (domain != null && !domain.isBlank()) ? domain : "domain1";
                         boolean isWin = System.getProperty("os.name", "").toLowerCase().contains("win");
                         System.setProperty("payara.ai.home", path);
                         System.setProperty("payara.ai.domain.xml.path",
@@ -389,7 +545,7 @@ public class StartMojo extends ServerMojo implements StartTask {
                         System.setProperty("payara.ai.asadmin.path",
                                 java.nio.file.Path.of(path, "bin", isWin ? "asadmin.bat" : "asadmin").toString());
                     }
-                    instance = new PayaraServerLocalInstance(javaHome, path, domainName);
+                    instance = new PayaraServerLocalInstance(javaHome, path, domain);
                     instance.setAdminUser(adminUser);
                     instance.setAdminPassword(getAdminPassword());
                     if (adminPort != null) {
@@ -403,6 +559,7 @@ public class StartMojo extends ServerMojo implements StartTask {
                     }
                     instance.setHttpConnectionTimeout(httpConnectionTimeout);
                     instance.setHttpReadTimeout(httpReadTimeout);
+                    instance.setHttp2(adminHttp2);
                     if (protocol != null) {
                         instance.setProtocol(protocol);
                     }
@@ -421,6 +578,7 @@ public class StartMojo extends ServerMojo implements StartTask {
                         }
                         serverManager.connectWithServer();
                     } else {
+                        readiness.close();
                         streamLocalServerLog((PayaraServerLocalInstance) instance);
                     }
                     if (exploded) {
@@ -448,8 +606,10 @@ public class StartMojo extends ServerMojo implements StartTask {
                     }
                 } catch (InterruptedException ignored) {
                 } catch (Exception e) {
+                    readiness.fail(e);
                     throw new RuntimeException(ERROR_MESSAGE, e);
                 } finally {
+                    readiness.close();
                     if (!daemon) {
                         closeServerProcess();
                     }
@@ -462,6 +622,7 @@ public class StartMojo extends ServerMojo implements StartTask {
             serverProcessorThread.start();
 
             if (!immediateExit) {
+                awaitReadiness();
                 try {
                     serverProcessorThread.join();
                 } catch (InterruptedException e) {
@@ -480,14 +641,44 @@ public class StartMojo extends ServerMojo implements StartTask {
         }
     }
 
+    private void awaitReadiness() throws MojoExecutionException {
+        try {
+            readiness.await(startTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            closeServerProcess();
+            throw new MojoExecutionException(ERROR_MESSAGE, e.getCause());
+        } catch (TimeoutException e) {
+            closeServerProcess();
+            throw new MojoExecutionException("Payara Server did not become ready in " + startTimeout + " seconds.");
+        }
+    }
+
     public void deployApplication() {
-        serverManager.undeployApplication(projectName, instanceName);
-        URI appUri = serverManager.deployApplication(projectName, appPath, instanceName, contextRoot, exploded, hotDeploy);
+        URI appUri = serverManager.deployApplication(projectName, appPath, instanceName, contextRoot, exploded, hotDeploy, keepState);
         if (appUri != null) {
             applicationURL = appUri.toString();
         }
     }
 
+    /**
+     * @return the ports set explicitly, kept by the isolated domain.
+     */
+    private Map<String, Integer> getFixedPorts() {
+        Map<String, Integer> ports = new HashMap<>();
+        if (adminPort != null) {
+            ports.put("admin-listener", Integer.parseInt(adminPort));
+        }
+        if (httpPort != null) {
+            ports.put("http-listener-1", Integer.parseInt(httpPort));
+        }
+        if (httpsPort != null) {
+            ports.put("http-listener-2", Integer.parseInt(httpsPort));
+        }
+        return ports;
+    }
+
     private Thread killServerProcess() {
         return new Thread(threadGroup, () -> {
             if (serverProcess != null && serverProcess.isAlive()) {
@@ -500,9 +691,15 @@ public class StartMojo extends ServerMojo implements StartTask {
                     serverProcess.destroyForcibly();
                 }
             }
+            if (domainTemplate != null) {
+                domainTemplate.discard();
+            }
             if (autoDeployHandler != null) {
                 autoDeployHandler.stop();
             }
+            if (console != null) {
+                console.close();
+            }
             if (driver != null) {
                 try {
                     String currentUrl = driver.getCurrentUrl();
@@ -539,16 +736,8 @@ public class StartMojo extends ServerMojo implements StartTask {
                     new DefaultArtifactHandler("zip"));
             
             File targetDir = TempDirectoryResolver.resolvePayaraTempDir(payaraServerVersion);
-            // Check if the target directory already exists
             File extractedDir = new File(targetDir + File.separator + "payara" + artifactItem.getVersion().charAt(0));
-            if (!extractedDir.exists()) {
-                try {
-                    getLog().info("Extracting Payara Server to " + targetDir);
-                    extractZipFile(findLocalPathOfArtifact(artifact), targetDir);
-                } catch (IOException e) {
-                    throw new MojoExecutionException("Failed to extract Payara Server zip file", e);
-                }
-            }
+            extractZipFile(findLocalPathOfArtifact(artifact), targetDir);
 
             return extractedDir.getAbsolutePath();
         }
@@ -567,19 +756,8 @@ public class StartMojo extends ServerMojo implements StartTask {
                     new DefaultArtifactHandler("zip"));
             File tmpDir = new File(System.getProperty("java.io.tmpdir"));
             File targetDir = new File(tmpDir, "payara-server-" + payaraServerVersion);
-            if (!targetDir.exists()) {
-                targetDir.mkdirs();
-            }
-            // Check if the target directory already exists
             File extractedDir = new File(targetDir + File.separator + "payara" + payaraServerVersion.charAt(0));
-            if (!extractedDir.exists()) {
-                try {
-                    getLog().info("Extracting the Payara Server to " + targetDir);
-                    extractZipFile(findLocalPathOfArtifact(artifact), targetDir);
-                } catch (IOException e) {
-                    throw new MojoExecutionException("Failed to extract Payara Server zip file", e);
-                }
-            }
+            extractZipFile(findLocalPathOfArtifact(artifact), targetDir);
 
             return extractedDir.getAbsolutePath();
         }
@@ -592,33 +770,15 @@ public class StartMojo extends ServerMojo implements StartTask {
         return payaraServerArtifact.getFile().getAbsolutePath();
     }
 
-    private void extractZipFile(String zipFilePath, File destDir) throws IOException {
-        if (!destDir.exists()) {
-            destDir.mkdirs(); // Create destination directory if it doesn't exist
-        }
-        try (ZipInputStream zipIn = new ZipInputStream(new FileInputStream(zipFilePath))) {
-            ZipEntry entry;
-            while ((entry = zipIn.getNextEntry()) != null) {
-                File dirEntry = new File(destDir, entry.getName());
-                if (!entry.isDirectory()) {
-                    // If the entry is a file, extract it
-                    extractFile(zipIn, dirEntry);
-                } else {
-                    // If the entry is a directory, create it
-                    dirEntry.mkdirs();
-                }
-                zipIn.closeEntry();
-            }
-        }
-    }
-
-    private void extractFile(ZipInputStream zipIn, File filePath) throws IOException {
-        try (FileOutputStream fos = new FileOutputStream(filePath)) {
-            byte[] buffer = new byte[1024];
-            int len;
-            while ((len = zipIn.read(buffer)) != -1) {
-                fos.write(buffer, 0, len);
-            }
+    /**
+     * Extracts the server unless the directory already holds a complete
+     * extraction of the same archive.
+     */
+    private void extractZipFile(String zipFilePath, File destDir) throws MojoExecutionException {
+        try {
+            new ZipExtractor(getLog()).extract(Paths.get(zipFilePath), destDir.toPath());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to extract Payara Server zip file", e);
         }
     }
 
@@ -664,21 +824,17 @@ public class StartMojo extends ServerMojo implements StartTask {
                 }));
 
                 while (!Thread.currentThread().isInterrupted() && !"exit".equals(userQuery)) {
-                    synchronized (System.out) {
-                        System.out.print("\n" + INPUT_PROMPT);
-                        System.out.flush();
-                        waitingForInput = true;
-                    }
+                    console.showPrompt(System.out, INPUT_PROMPT);
                     try {
                         if (scanner.hasNextLine()) {
                             userQuery = applyBackspaces(scanner.nextLine());
-                            waitingForInput = false;
+                            console.hidePrompt();
                         } else {
                             Thread.currentThread().interrupt();
                             break; // Exit if input stream closes
                         }
                     } catch (java.util.NoSuchElementException nsee) {
-                        waitingForInput = false;
+                        console.hidePrompt();
                         break;
                     }
                     try {
@@ -749,60 +905,48 @@ public class StartMojo extends ServerMojo implements StartTask {
         return sb.toString();
     }
 
+    /**
+     * @return the matchers of the deployment outcome logged by the server,
+     * refreshing the browser once the application is redeployed.
+     */
+    private LogMatchers createDeploymentMatchers() {
+        return new LogMatchers()
+                .add(APP_DEPLOYMENT_FAILED, l -> {
+                    WebDriverFactory.updateTitle(APP_DEPLOYMENT_FAILED_MESSAGE, getEnvironment().getMavenProject(), driver, this.getLog());
+                    return true;
+                })
+                .add(APP_DEPLOYED, l -> {
+                    if (applicationURL != null && !applicationURL.isEmpty()) {
+                        WebDriverFactory.refresh(driver, autoDeployHandler != null ? autoDeployHandler.getReloadTimings() : null, getLog());
+                        return true;
+                    }
+                    return false;
+                });
+    }
+
     private void printLog(String line) {
-        synchronized (System.out) {
-            if (waitingForInput) {
-                System.out.print("\r\033[K");
-            }
-            System.out.println(line);
-            if (waitingForInput) {
-                System.out.print(INPUT_PROMPT);
+        console.println(System.out, line);
+        if (liveReload) {
+            try {
+                logMatchers.match(line);
+            } catch (IOException ex) {
+                getLog().debug(ex);
             }
-            System.out.flush();
         }
     }
 
     private Thread streamRemoteServerLog() {
-        final Thread thread = new Thread(threadGroup, () -> {
-            try {
-                while (true) {
-                    String log = ((RemoteInstanceManager) serverManager).fetchLogs(instanceName);
-                    if (log != null && !log.isEmpty()) {
-                        printLog(log);
-                    }
-                    Thread.sleep(2000);
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        });
+        final Thread thread = new Thread(threadGroup,
+                new RemoteLogStreamer((RemoteInstanceManager) serverManager, instanceName, this::printLog, getLog()));
         thread.setDaemon(false);
         thread.start();
         return thread;
     }
 
     private void streamLocalServerLog(PayaraServerLocalInstance instance) {
-        final Thread thread = new Thread(threadGroup, () -> {
-            File logFile = new File(instance.getServerLog());
-            if (logFile.exists()) {
-                try (RandomAccessFile raf = new RandomAccessFile(logFile, "r")) {
-                    raf.seek(raf.length());
-                    String line;
-                    while (true) {
-                        while ((line = raf.readLine()) != null) {
-                            printLog(line);
-                        }
-                        Thread.sleep(1000);
-                    }
-                } catch (IOException e) {
-                    getLog().error("Error occurred while streaming server.log", e);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            } else {
-                getLog().warn("Log file does not exist: " + logFile.getAbsolutePath());
-            }
-        });
+        LogTailer tailer = new LogTailer(Paths.get(instance.getServerLog()), this::printLog,
+                logBackfill != null ? logBackfill * 1024L : 0, getLog());
+        final Thread thread = new Thread(threadGroup, tailer);
         thread.setDaemon(false);
         thread.start();
     }
@@ -810,19 +954,13 @@ public class StartMojo extends ServerMojo implements StartTask {
     private void redirectStream(final InputStream inputStream, final PrintStream printStream) {
         final Thread thread = new Thread(threadGroup, () -> {
             BufferedReader br;
-            StringBuilder sb = new StringBuilder();
 
             String line;
             try {
                 br = new BufferedReader(new InputStreamReader(inputStream));
                 while ((line = br.readLine()) != null) {
-                    sb.append(line);
-                    if (printStream == System.out) {
-                        printLog(line);
-                    } else {
-                        printStream.println(line);
-                    }
-                    if (!immediateExit && sb.toString().contains(SERVER_READY_MESSAGE)) {
+                    console.println(printStream, line);
+                    if (readiness.accept(line) && !immediateExit) {
                         serverProcessorThread.interrupt();
                         br.close();
                         break;
@@ -844,23 +982,18 @@ public class StartMojo extends ServerMojo implements StartTask {
                     BufferedReader br = new BufferedReader(new InputStreamReader(inputStream));
                     PrintStream printStream = (PrintStream) outputStream;
 
+                    LogMatchers matchers = createDeploymentMatchers()
+                            .add(INOTIFY_USER_LIMIT_REACHED_MESSAGE, l -> {
+                                if (autoDeploy) {
+                                    getLog().error(WATCH_SERVICE_ERROR_MESSAGE);
+                                    return true;
+                                }
+                                return false;
+                            });
+
                     while ((line = br.readLine()) != null) {
-                        printStream.println(trimLog ? LogUtils.trimLog(line) : line);
-                        if (line.contains(APP_DEPLOYMENT_FAILED)) {
-                            WebDriverFactory.updateTitle(APP_DEPLOYMENT_FAILED_MESSAGE, getEnvironment().getMavenProject(), driver, this.getLog());
-                        } else if (applicationURL != null
-                                && !applicationURL.isEmpty()
-                                && driver != null
-                                && line.contains(APP_DEPLOYED)) {
-                            try {
-                                driver.navigate().refresh();
-                            } catch (Exception ex) {
-                                getLog().debug("Error in refreshing with WebDriver", ex);
-                            }
-                        } else if (autoDeploy
-                                && line.contains(INOTIFY_USER_LIMIT_REACHED_MESSAGE)) {
-                            getLog().error(WATCH_SERVICE_ERROR_MESSAGE);
-                        }
+                        console.println(printStream, trimLog ? LogUtils.trimLog(line) : line);
+                        matchers.match(line);
                     }
                 } else {
                     IOUtils.copy(inputStream, outputStream);
@@ -924,4 +1057,52 @@ public class StartMojo extends ServerMojo implements StartTask {
         return ignoreTestChanges;
     }
 
+    @Override
+    public MavenSession getSession() {
+        return mavenSession;
+    }
+
+    @Override
+    public Maven getMaven() {
+        return maven;
+    }
+
+    @Override
+    public LegacySupport getLegacySupport() {
+        return legacySupport;
+    }
+
+    @Override
+    public ProjectBuilder getProjectBuilder() {
+        return projectBuilder;
+    }
+
+    @Override
+    public boolean isEmbeddedBuild() {
+        return embeddedBuild;
+    }
+
+    @Override
+    public long getBuildQuietPeriod() {
+        return buildQuietPeriod;
+    }
+
+    @Override
+    public long getBuildMaxLatency() {
+        return buildMaxLatency;
+    }
+
+    @Override
+    public List<String> getWatchIgnore() {
+        return watchIgnore;
+    }
+
+    @Override
+    public InetSocketAddress getHotSwapAddress() {
+        if (Boolean.FALSE.equals(hotSwap) || !(serverManager instanceof LocalInstanceManager)) {
+            return null;
+        }
+        return HotSwapClient.getAddress(((LocalInstanceManager) serverManager).getDebugOptions());
+    }
+
 }
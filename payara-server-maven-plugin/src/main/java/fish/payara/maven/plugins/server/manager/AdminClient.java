@@ -0,0 +1,295 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins.server.manager;
+
+import fish.payara.maven.plugins.server.Command;
+import fish.payara.maven.plugins.server.response.JsonResponse;
+import fish.payara.maven.plugins.server.response.PlainResponse;
+import fish.payara.maven.plugins.server.response.Response;
+import static fish.payara.maven.plugins.server.manager.InstanceManager.CONTENT_TYPE_PLAIN_TEXT;
+import static fish.payara.maven.plugins.server.manager.PayaraServerLocalInstance.HTTP;
+import static fish.payara.maven.plugins.server.manager.PayaraServerLocalInstance.HTTPS;
+import static fish.payara.maven.plugins.server.manager.PayaraServerLocalInstance.HTTPS_PREFIX;
+import static fish.payara.maven.plugins.server.manager.PayaraServerLocalInstance.HTTP_PREFIX;
+import static fish.payara.maven.plugins.server.manager.PayaraServerLocalInstance.LOCATION_HEADER;
+import fish.payara.maven.plugins.server.utils.ServerUtils;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Client of the administration interface of Payara Server.
+ * <p>
+ * All commands are sent through shared {@link HttpClient}s, one per connect
+ * timeout and protocol version, so that connections are kept alive and TLS
+ * sessions are reused across commands instead of being established for each
+ * of them. The administration certificate is trusted as before, through a
+ * single trust-all context.
+ *
+ * @author Gaurav Gupta
+ */
+public class AdminClient {
+
+    private static final String HTTP_GET_METHOD = "GET";
+    private static final String HTTP_POST_METHOD = "POST";
+    private static final String CONTENT_TYPE_ZIP = "application/zip";
+    private static final String CONTENT_TYPE_HEADER = "Content-Type";
+    private static final int DEFAULT_CONNECT_TIMEOUT = 10000;
+
+    private static final Map<String, HttpClient> CLIENTS = new ConcurrentHashMap<>();
+    private static volatile SSLContext sslContext;
+
+    private final Log log;
+
+    public AdminClient(Log log) {
+        this.log = log;
+    }
+
+    /**
+     * Sends the command, waiting for its response.
+     *
+     * @return the response, or <code>null</code> if the server could not be
+     * reached or its response could not be read.
+     */
+    public Response send(PayaraServerInstance instance, Command command) throws InterruptedException {
+        try {
+            HttpClient client = getHttpClient(instance);
+            HttpResponse<String> response = client.send(newRequest(instance, command, getCommandUri(instance, command)),
+                    HttpResponse.BodyHandlers.ofString());
+            URI secureUri = getSecureRedirect(response);
+            if (secureUri != null) {
+                instance.setProtocol(HTTPS);
+                response = client.send(newRequest(instance, command, secureUri), HttpResponse.BodyHandlers.ofString());
+            }
+            return toResponse(command, response);
+        } catch (IOException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Sends the command asynchronously, following a redirection of the
+     * administration interface from HTTP to HTTPS.
+     */
+    public CompletableFuture<Response> sendAsync(PayaraServerInstance instance, Command command) {
+        HttpRequest request;
+        try {
+            request = newRequest(instance, command, getCommandUri(instance, command));
+        } catch (IOException | RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        return getHttpClient(instance)
+                .sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenCompose(response -> {
+                    URI secureUri = getSecureRedirect(response);
+                    if (secureUri == null) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    instance.setProtocol(HTTPS);
+                    try {
+                        return getHttpClient(instance)
+                                .sendAsync(newRequest(instance, command, secureUri), HttpResponse.BodyHandlers.ofString());
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                })
+                .thenApply(response -> toResponse(command, response));
+    }
+
+    /**
+     * @return the HTTPS location the administration interface redirects an
+     * HTTP request to, or <code>null</code> if the response is not such a
+     * redirection.
+     */
+    private static URI getSecureRedirect(HttpResponse<?> response) {
+        if (response.statusCode() != HttpURLConnection.HTTP_MOVED_TEMP) {
+            return null;
+        }
+        String location = response.headers().firstValue(LOCATION_HEADER).orElse("");
+        if (location.startsWith(HTTPS_PREFIX) && response.uri().toString().startsWith(HTTP_PREFIX)) {
+            return URI.create(location);
+        }
+        return null;
+    }
+
+    /**
+     * Sends a request without a body, streaming its response. The read
+     * timeout of the instance bounds the wait for the response headers.
+     */
+    public HttpResponse<InputStream> stream(PayaraServerInstance instance, Command command, Map<String, String> headers)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = newRequestBuilder(instance, command, getCommandUri(instance, command)).GET();
+        if (instance.getHttpReadTimeout() != null) {
+            builder.timeout(Duration.ofMillis(instance.getHttpReadTimeout()));
+        }
+        headers.forEach(builder::header);
+        return getHttpClient(instance).send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private static Response toResponse(Command command, HttpResponse<String> response) {
+        if (command.getContentType().equals(CONTENT_TYPE_PLAIN_TEXT)) {
+            return new PlainResponse(response.body(), response.statusCode(), response.headers().map());
+        }
+        return new JsonResponse(response.body(), response.statusCode(), response.headers().map());
+    }
+
+    private HttpRequest newRequest(PayaraServerInstance instance, Command command, URI uri) throws IOException {
+        HttpRequest.Builder builder = newRequestBuilder(instance, command, uri);
+        if (command.isDirDeploy() || command.getPath() == null) {
+            builder.method(HTTP_GET_METHOD, HttpRequest.BodyPublishers.noBody());
+        } else {
+            File file = new File(command.getPath());
+            if (!file.isFile() || !file.canRead()) {
+                throw new IOException("File not found or cannot be read: " + command.getPath());
+            }
+            builder.header(CONTENT_TYPE_HEADER, CONTENT_TYPE_ZIP);
+            builder.method(HTTP_POST_METHOD, new StoredZipUpload(file, log).getBodyPublisher());
+        }
+        return builder.build();
+    }
+
+    private HttpRequest.Builder newRequestBuilder(PayaraServerInstance instance, Command command, URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .header("Accept", command.getContentType());
+        String adminPassword = instance.getAdminPassword();
+        if (adminPassword != null && adminPassword.length() > 0) {
+            builder.header("Authorization", "Basic " + ServerUtils.basicAuthCredentials(instance.getAdminUser(), adminPassword));
+        }
+        return builder;
+    }
+
+    static URI getCommandUri(PayaraServerInstance server, Command command) {
+        if (command.getCommand().startsWith(HTTP)) {
+            return URI.create(command.getCommand());
+        }
+        try {
+            URI uri = new URI(server.getProtocol(), null, server.getHost(), server.getAdminPort(),
+                    command.getRootPath() + command.getCommand(), command.getQuery(), null);
+            return URI.create(uri.toASCIIString().replace("+", "%2b"));
+        } catch (URISyntaxException use) {
+            throw new IllegalStateException(use);
+        }
+    }
+
+    private HttpClient getHttpClient(PayaraServerInstance instance) {
+        int connectTimeout = instance.getHttpConnectionTimeout() != null
+                ? instance.getHttpConnectionTimeout() : DEFAULT_CONNECT_TIMEOUT;
+        boolean http2 = instance.isHttp2();
+        return CLIENTS.computeIfAbsent(connectTimeout + (http2 ? "/h2" : "/h1"), key -> HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .sslContext(getSslContext())
+                .build());
+    }
+
+    private static SSLContext getSslContext() {
+        if (sslContext == null) {
+            synchronized (AdminClient.class) {
+                if (sslContext == null) {
+                    try {
+                        SSLContext context = SSLContext.getInstance("TLS");
+                        context.init(null, new TrustManager[]{new TrustAllManager()}, null);
+                        sslContext = context;
+                    } catch (GeneralSecurityException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }
+            }
+        }
+        return sslContext;
+    }
+
+    /**
+     * Trusts the self-signed certificate of the administration interface.
+     * Being an extended trust manager, it also replaces the host name
+     * verification.
+     */
+    private static class TrustAllManager extends X509ExtendedTrustManager {
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket) {
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+
+}
@@ -0,0 +1,237 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins.server.manager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Synchronizes an application archive entry by entry into a directory
+ * shared with a remote host, e.g. a network mount, so that the remote
+ * instance redeploys the directory instead of receiving the whole archive.
+ * The application is written to a subdirectory named after it, which is
+ * only cleared when a marker file next to it shows it was created here.
+ * <p>
+ * A manifest of the entries last written to the directory, identified by
+ * their size and CRC as recorded in the archive, is kept so that only the
+ * changed and added entries are written and the removed ones are deleted.
+ *
+ * @author Gaurav Gupta
+ */
+public class DeltaDeployment {
+
+    private static final int VERSION = 1;
+    private static final String EAR_EXTENSION = ".ear";
+    private static final String MARKER_SUFFIX = ".payara-delta-deployment";
+
+    private final Path sharedDirectory;
+    private final String sharedRemotePath;
+    private Path directory;
+    private Path markerFile;
+    private final Path manifestFile;
+    private final Log log;
+
+    /**
+     * @param directory the shared directory, as seen from this host.
+     * @param remotePath the shared directory, as seen from the remote host,
+     * or <code>null</code> if it is the same path.
+     * @param manifestFile the file keeping the manifest across builds.
+     */
+    public DeltaDeployment(Path directory, String remotePath, Path manifestFile, Log log) {
+        this.sharedDirectory = directory.toAbsolutePath().normalize();
+        this.sharedRemotePath = remotePath != null && !remotePath.isEmpty() ? remotePath : this.sharedDirectory.toString();
+        this.manifestFile = manifestFile;
+        this.log = log;
+    }
+
+    /**
+     * Brings the directory of the application in line with the archive.
+     *
+     * @param name the application name, naming its directory.
+     * @return the path of the application directory on the remote host, or
+     * <code>null</code> if the archive cannot be deployed as a directory.
+     */
+    public String synchronize(String name, String archivePath) throws IOException {
+        if (archivePath.endsWith(EAR_EXTENSION)) {
+            // the modules of an exploded EAR must be exploded as well
+            return null;
+        }
+        directory = sharedDirectory.resolve(name).normalize();
+        if (!sharedDirectory.equals(directory.getParent())) {
+            throw new IOException("Invalid application name: " + name);
+        }
+        markerFile = sharedDirectory.resolve(name + MARKER_SUFFIX);
+        long start = System.currentTimeMillis();
+        Map<String, Long> previous = loadManifest();
+        if (previous.isEmpty()) {
+            clearDirectory();
+        }
+        Map<String, Long> current = new HashMap<>();
+        int changed = 0, added = 0, removed = 0;
+        long written = 0, total = 0;
+        try (ZipFile zip = new ZipFile(archivePath)) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                Path target = resolve(entry.getName());
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                    continue;
+                }
+                long fingerprint = entry.getCrc() ^ (entry.getSize() << 32);
+                current.put(entry.getName(), fingerprint);
+                total += entry.getSize();
+                Long last = previous.remove(entry.getName());
+                if (last != null && last == fingerprint && Files.exists(target)) {
+                    continue;
+                }
+                if (last == null) {
+                    added++;
+                } else {
+                    changed++;
+                }
+                written += entry.getSize();
+                Files.createDirectories(target.getParent());
+                try (InputStream in = zip.getInputStream(entry)) {
+                    Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            for (String entryName : previous.keySet()) {
+                if (Files.deleteIfExists(resolve(entryName))) {
+                    removed++;
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            // the directory no longer matches the manifest
+            Files.deleteIfExists(manifestFile);
+            throw ex;
+        }
+        saveManifest(current);
+        log.info(String.format("Synchronized %s to %s: %d changed, %d added, %d removed entries, %d of %d KB written in %d ms",
+                new File(archivePath).getName(), directory, changed, added, removed,
+                written / 1024, total / 1024, System.currentTimeMillis() - start));
+        String separator = sharedRemotePath.endsWith("/") || sharedRemotePath.endsWith("\\") ? "" : "/";
+        return sharedRemotePath + separator + name;
+    }
+
+    /**
+     * Resolves an entry in the directory, rejecting names escaping it.
+     */
+    private Path resolve(String name) throws IOException {
+        Path target = directory.resolve(name).normalize();
+        if (!target.startsWith(directory)) {
+            throw new IOException("Archive entry outside of the target directory: " + name);
+        }
+        return target;
+    }
+
+    private void clearDirectory() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            Files.createDirectories(directory);
+            Files.createFile(markerFile);
+            return;
+        }
+        if (!Files.exists(markerFile)) {
+            try (Stream<Path> paths = Files.list(directory)) {
+                if (paths.findAny().isPresent()) {
+                    throw new IOException("Refusing to clear " + directory + ", it was not created by a delta deployment");
+                }
+            }
+            Files.createFile(markerFile);
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                if (!path.equals(directory)) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    private Map<String, Long> loadManifest() {
+        Map<String, Long> manifest = new HashMap<>();
+        if (!Files.isRegularFile(manifestFile) || !Files.isDirectory(directory)) {
+            return manifest;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(manifestFile)))) {
+            if (in.readInt() != VERSION || !directory.toString().equals(in.readUTF())) {
+                return manifest;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                manifest.put(in.readUTF(), in.readLong());
+            }
+        } catch (IOException ex) {
+            log.debug("Unable to load the deployment manifest " + manifestFile, ex);
+            manifest.clear();
+        }
+        return manifest;
+    }
+
+    private void saveManifest(Map<String, Long> manifest) throws IOException {
+        Files.createDirectories(manifestFile.getParent());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(manifestFile)))) {
+            out.writeInt(VERSION);
+            out.writeUTF(directory.toString());
+            out.writeInt(manifest.size());
+            for (Map.Entry<String, Long> entry : manifest.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue());
+            }
+        }
+    }
+
+}
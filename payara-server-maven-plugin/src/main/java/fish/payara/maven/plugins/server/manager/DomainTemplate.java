@@ -0,0 +1,361 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins.server.manager;
+
+import static fish.payara.maven.plugins.server.Configuration.LAUNCH_PLAN_FILE;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Provisions a domain per run from a pristine template of a domain, so that
+ * concurrent runs of the same server installation do not share a domain.
+ * <p>
+ * The template is copied once from the domain, leaving out its runtime
+ * state. Each run domain hardlinks the files of the template the server
+ * only reads and copies the ones it writes, and its listeners are moved
+ * to free ports. A run domain is locked while in use, and the ones of
+ * finished runs are deleted when the next one is provisioned.
+ *
+ * @author Gaurav Gupta
+ */
+public class DomainTemplate {
+
+    private static final String TEMPLATES_DIR = "domain-templates";
+    private static final String RUN_LOCK_FILE = ".payara-maven-run.lock";
+    private static final String TEMPLATE_LOCK_FILE = ".lock";
+    private static final String DOMAIN_XML = "config/domain.xml";
+    private static final String PID_FILE = "config/pid";
+    /**
+     * Runtime state left out of the template.
+     */
+    private static final List<String> EXCLUDED = Arrays.asList(
+            "logs", "osgi-cache", "generated", "session-store", "config/pid", "config/pid.prev", "config/lockfile",
+            LAUNCH_PLAN_FILE, RUN_LOCK_FILE);
+    /**
+     * Files written by the server, copied instead of linked to keep the
+     * template pristine.
+     */
+    private static final List<String> COPIED = Arrays.asList(
+            "config", "applications", "autodeploy", "imq", "lib/databases");
+    private static final Pattern LISTENER_PATTERN = Pattern.compile(
+            "<(network-listener|iiop-listener|jms-host|jmx-connector|hazelcast-runtime-configuration)\\b[^>]*>");
+    private static final Pattern PORT_PATTERN = Pattern.compile("\\b(port|start-port)=\"(\\d+)\"");
+    private static final Pattern NAME_PATTERN = Pattern.compile("\\bname=\"([^\"]*)\"");
+    /**
+     * The port of a JDWP agent, in the debug options or the JVM options.
+     */
+    private static final Pattern DEBUG_PORT_PATTERN = Pattern.compile(
+            "(-agentlib:jdwp=[^\"<\\s]*?\\baddress=(?:[^,\"<\\s]*:)?)(\\d+)");
+    private static final String DEBUG_PORT = "debug";
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private final Path domainsDirectory;
+    private final String domainName;
+    private final Log log;
+    private Path runDomain;
+    private FileChannel runLockChannel;
+    private FileLock runLock;
+
+    public DomainTemplate(Path domainsDirectory, String domainName, Log log) {
+        this.domainsDirectory = domainsDirectory;
+        this.domainName = domainName;
+        this.log = log;
+    }
+
+    /**
+     * Provisions a new domain from the template of the domain, creating the
+     * template first if needed.
+     *
+     * @param fixedPorts ports of the listeners, by name, to use instead of
+     * free ports.
+     * @return the name of the provisioned domain.
+     */
+    public String materialize(Map<String, Integer> fixedPorts) throws IOException {
+        long start = System.currentTimeMillis();
+        Path template = getTemplate();
+        deleteFinishedRuns();
+        String name = domainName + "-" + ProcessHandle.current().pid() + "-" + COUNTER.incrementAndGet();
+        Path domain = domainsDirectory.resolve(name);
+        Files.createDirectories(domain);
+        runLockChannel = FileChannel.open(domain.resolve(RUN_LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        runLock = runLockChannel.lock();
+        runDomain = domain;
+
+        boolean linkable = true;
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(template)) {
+            paths = walk.collect(Collectors.toList());
+        }
+        for (Path source : paths) {
+            String relative = template.relativize(source).toString().replace('\\', '/');
+            if (relative.isEmpty()) {
+                continue;
+            }
+            Path target = domain.resolve(relative);
+            if (Files.isDirectory(source)) {
+                Files.createDirectories(target);
+            } else if (linkable && !matches(relative, COPIED)) {
+                try {
+                    Files.createLink(target, source);
+                } catch (UnsupportedOperationException | IOException ex) {
+                    log.debug("Unable to link " + source + ", copying the template instead", ex);
+                    linkable = false;
+                    Files.copy(source, target);
+                }
+            } else {
+                Files.copy(source, target);
+            }
+        }
+        Map<String, Integer> ports = allocatePorts(domain.resolve(DOMAIN_XML), fixedPorts);
+        log.info("Provisioned domain " + name + " from template " + template + " in "
+                + (System.currentTimeMillis() - start) + " ms with ports " + ports);
+        return name;
+    }
+
+    /**
+     * Releases and deletes the provisioned domain. The server must have
+     * been stopped.
+     */
+    public void discard() {
+        if (runDomain == null) {
+            return;
+        }
+        try {
+            runLock.release();
+            runLockChannel.close();
+            delete(runDomain);
+        } catch (IOException ex) {
+            log.debug("Unable to delete domain " + runDomain, ex);
+        }
+        runDomain = null;
+    }
+
+    private Path getTemplate() throws IOException {
+        Path templates = domainsDirectory.resolveSibling(TEMPLATES_DIR);
+        Path template = templates.resolve(domainName);
+        if (Files.isDirectory(template)) {
+            return template;
+        }
+        Path domain = domainsDirectory.resolve(domainName);
+        if (!Files.isRegularFile(domain.resolve(DOMAIN_XML))) {
+            throw new IOException("Domain " + domainName + " not found in " + domainsDirectory);
+        }
+        Files.createDirectories(templates);
+        try (FileChannel channel = FileChannel.open(templates.resolve(TEMPLATE_LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.lock();
+            try {
+                if (Files.isDirectory(template)) {
+                    return template;
+                }
+                copyTemplate(domain, template);
+            } finally {
+                lock.release();
+            }
+        }
+        return template;
+    }
+
+    private void copyTemplate(Path domain, Path template) throws IOException {
+        Path temp = Files.createTempDirectory(template.getParent(), domainName);
+        try (Stream<Path> walk = Files.walk(domain)) {
+            for (Path source : (Iterable<Path>) walk::iterator) {
+                String relative = domain.relativize(source).toString().replace('\\', '/');
+                if (relative.isEmpty() || matches(relative, EXCLUDED)) {
+                    continue;
+                }
+                Path target = temp.resolve(relative);
+                if (Files.isDirectory(source)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(source, target, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+            }
+        }
+        Files.move(temp, template, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Created template of domain " + domainName + " in " + template);
+    }
+
+    private static boolean matches(String relative, List<String> prefixes) {
+        for (String prefix : prefixes) {
+            if (relative.equals(prefix) || relative.startsWith(prefix + '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Deletes the domains of runs whose build has ended and whose server is
+     * no longer running.
+     */
+    private void deleteFinishedRuns() {
+        try (DirectoryStream<Path> domains = Files.newDirectoryStream(domainsDirectory, domainName + "-*")) {
+            for (Path domain : domains) {
+                Path lockFile = domain.resolve(RUN_LOCK_FILE);
+                if (!Files.isRegularFile(lockFile) || isServerRunning(domain)) {
+                    continue;
+                }
+                try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE);
+                        FileLock lock = channel.tryLock()) {
+                    if (lock != null) {
+                        delete(domain);
+                    }
+                } catch (OverlappingFileLockException ex) {
+                    // in use by this build
+                } catch (IOException ex) {
+                    log.debug("Unable to delete domain " + domain, ex);
+                }
+            }
+        } catch (IOException ex) {
+            log.debug("Unable to list domains of " + domainsDirectory, ex);
+        }
+    }
+
+    private static boolean isServerRunning(Path domain) {
+        try {
+            String pid = new String(Files.readAllBytes(domain.resolve(PID_FILE)), StandardCharsets.US_ASCII).trim();
+            return ProcessHandle.of(Long.parseLong(pid)).map(ProcessHandle::isAlive).orElse(false);
+        } catch (IOException | NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Moves the listeners of domain.xml to free ports. A port shared by
+     * several listeners, e.g. of different configs, is moved to the same
+     * free port. The JDWP agent address of the debug and JVM options is
+     * moved as well, reported as the <code>debug</code> port.
+     *
+     * @return the ports of the listeners by name.
+     */
+    private static Map<String, Integer> allocatePorts(Path domainXml, Map<String, Integer> fixedPorts) throws IOException {
+        String content = new String(Files.readAllBytes(domainXml), StandardCharsets.UTF_8);
+        Map<String, Integer> remapped = new HashMap<>();
+        Map<String, Integer> listenerPorts = new LinkedHashMap<>();
+        List<ServerSocket> sockets = new ArrayList<>();
+        StringBuffer result = new StringBuffer(content.length());
+        try {
+            Matcher listener = LISTENER_PATTERN.matcher(content);
+            while (listener.find()) {
+                String tag = listener.group();
+                Matcher nameMatcher = NAME_PATTERN.matcher(tag);
+                String name = nameMatcher.find() ? nameMatcher.group(1) : listener.group(1);
+                StringBuffer newTag = new StringBuffer(tag.length());
+                Matcher port = PORT_PATTERN.matcher(tag);
+                while (port.find()) {
+                    Integer newPort = fixedPorts.get(name);
+                    if (newPort == null) {
+                        newPort = remapped.get(port.group(2));
+                    }
+                    if (newPort == null) {
+                        ServerSocket socket = new ServerSocket(0);
+                        sockets.add(socket);
+                        newPort = socket.getLocalPort();
+                        remapped.put(port.group(2), newPort);
+                    }
+                    listenerPorts.putIfAbsent(name, newPort);
+                    port.appendReplacement(newTag, port.group(1) + "=\"" + newPort + "\"");
+                }
+                port.appendTail(newTag);
+                listener.appendReplacement(result, Matcher.quoteReplacement(newTag.toString()));
+            }
+            listener.appendTail(result);
+
+            Matcher debug = DEBUG_PORT_PATTERN.matcher(result.toString());
+            result = new StringBuffer(content.length());
+            while (debug.find()) {
+                Integer newPort = fixedPorts.get(DEBUG_PORT);
+                if (newPort == null) {
+                    newPort = remapped.get(debug.group(2));
+                }
+                if (newPort == null) {
+                    ServerSocket socket = new ServerSocket(0);
+                    sockets.add(socket);
+                    newPort = socket.getLocalPort();
+                    remapped.put(debug.group(2), newPort);
+                }
+                listenerPorts.putIfAbsent(DEBUG_PORT, newPort);
+                debug.appendReplacement(result, Matcher.quoteReplacement(debug.group(1) + newPort));
+            }
+            debug.appendTail(result);
+        } finally {
+            for (ServerSocket socket : sockets) {
+                socket.close();
+            }
+        }
+        Files.write(domainXml, result.toString().getBytes(StandardCharsets.UTF_8));
+        return Collections.unmodifiableMap(listenerPorts);
+    }
+
+    private static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path file : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+}
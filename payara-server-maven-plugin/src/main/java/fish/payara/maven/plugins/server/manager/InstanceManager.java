@@ -39,51 +39,28 @@
 package fish.payara.maven.plugins.server.manager;
 
 import fish.payara.maven.plugins.server.Command;
-import fish.payara.maven.plugins.server.response.PlainResponse;
 import fish.payara.maven.plugins.server.response.JsonResponse;
 import fish.payara.maven.plugins.server.response.Response;
-import static fish.payara.maven.plugins.server.manager.LocalInstanceManager.HTTP_RETRY_DELAY;
-import static fish.payara.maven.plugins.server.manager.LocalInstanceManager.PARAM_ASSIGN_VALUE;
-import static fish.payara.maven.plugins.server.manager.LocalInstanceManager.PARAM_SEPARATOR;
 import static fish.payara.maven.plugins.server.manager.PayaraServerLocalInstance.HTTP;
-import static fish.payara.maven.plugins.server.manager.PayaraServerLocalInstance.HTTPS;
-import static fish.payara.maven.plugins.server.manager.PayaraServerLocalInstance.HTTPS_PREFIX;
-import static fish.payara.maven.plugins.server.manager.PayaraServerLocalInstance.HTTP_PREFIX;
-import static fish.payara.maven.plugins.server.manager.PayaraServerLocalInstance.LOCATION_HEADER;
-import fish.payara.maven.plugins.server.utils.ServerUtils;
-import java.io.BufferedOutputStream;
-import java.io.BufferedReader;
-import java.io.ByteArrayOutputStream;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.net.ConnectException;
+import java.math.BigInteger;
 import java.net.HttpURLConnection;
-import java.net.InetAddress;
-import java.net.MalformedURLException;
-import java.net.ProtocolException;
-import java.net.Proxy;
 import java.net.URI;
-import java.net.URISyntaxException;
-import java.net.URL;
-import java.net.URLConnection;
-import java.net.UnknownHostException;
-import java.security.KeyManagementException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.security.cert.CertificateException;
-import java.security.cert.X509Certificate;
 import java.util.List;
-import java.util.Properties;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
-import javax.net.ssl.HttpsURLConnection;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLSession;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.X509TrustManager;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
 import org.json.JSONArray;
@@ -99,15 +76,13 @@ public class InstanceManager<X extends PayaraServerInstance> {
 
     protected X payaraServer;
 
-    private static final String HTTP_GET_METHOD = "GET";
-    private static final String HTTP_POST_METHOD = "POST";
+    protected final AdminClient adminClient;
+
+    private final Map<String, Deployment> deployments = new ConcurrentHashMap<>();
 
     public static final String CONTENT_TYPE_JSON = "application/json";
-    private static final String CONTENT_TYPE_STREAM = "application/octet-stream";
-    private static final String CONTENT_TYPE_ZIP = "application/zip";
     public static final String CONTENT_TYPE_PLAIN_TEXT = "text/plain";
     public static final String CONTENT_TYPE_HTML_TEXT = "text/html";
-    private static final String CONTENT_TYPE_HEADER = "Content-Type";
 
     private static final int MAX_RETRIES = 100;
     /**
@@ -188,6 +163,11 @@ public class InstanceManager<X extends PayaraServerInstance> {
      */
     private static final String HOT_DEPLOY_PARAM = "hotDeploy";
 
+    /**
+     * Deploy command <code>keepstate</code> parameter name.
+     */
+    private static final String KEEP_STATE_PARAM = "keepstate";
+
     /**
      * Deploy command <code>force</code> parameter value.
      */
@@ -196,26 +176,40 @@ public class InstanceManager<X extends PayaraServerInstance> {
     public InstanceManager(X payaraServer, Log log) {
         this.payaraServer = payaraServer;
         this.log = log;
+        this.adminClient = new AdminClient(log);
     }
 
+    /**
+     * Pings the server until it responds. Each ping is sent right away and
+     * waited for at most the retry delay, the rest of which is slept before
+     * the next attempt.
+     */
     public void connectWithServer() throws MojoExecutionException {
         boolean pingSuccess = false;
         for (int i = 0; i < MAX_RETRIES; i++) {
+            long retryTime = System.currentTimeMillis() + HTTP_RETRY_DELAY;
+            CompletableFuture<Response> ping = invokeServerAsync(payaraServer, new Command(MANAGEMENT_PATH, VERSION_COMMAND, null));
             try {
-                Thread.sleep(HTTP_RETRY_DELAY);
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
-            }
-            try {
-                if (pingServer()) {
+                Response response = ping.get(HTTP_RETRY_DELAY, TimeUnit.MILLISECONDS);
+                if (response != null && response.isExitCodeSuccess()) {
                     pingSuccess = true;
                     break;
                 }
-            } catch (Exception e) {
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                ping.cancel(true);
                 if (i == MAX_RETRIES - 1) {
                     throw new MojoExecutionException("Failed to ping Payara Server after " + MAX_RETRIES + " attempts.", e);
                 }
             }
+            try {
+                Thread.sleep(Math.max(0, retryTime - System.currentTimeMillis()));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
         }
         if (!pingSuccess) {
             log.error("Error pinging the server");
@@ -251,24 +245,50 @@ public class InstanceManager<X extends PayaraServerInstance> {
                 );
     }
 
-    public URI deployApplication(String name, String appPath, String instanceName, String contextRoot, boolean exploded, boolean hotDeploy) {
+    /**
+     * Deploys the application, redeploying it in place if it is already
+     * deployed. An archive identical to the one of the last successful
+     * deployment of the application is not deployed again.
+     *
+     * @param keepState whether the sessions of the application are kept
+     * across the redeployment.
+     * @return the URI of the application, or <code>null</code> if the
+     * deployment failed.
+     */
+    public URI deployApplication(String name, String appPath, String instanceName, String contextRoot, boolean exploded, boolean hotDeploy, boolean keepState) {
+        String digest = exploded ? null : digest(appPath);
+        Deployment last = deployments.remove(name);
+        if (digest != null && last != null && digest.equals(last.digest)) {
+            deployments.put(name, last);
+            log.info(name + " application is unchanged since its last deployment.");
+            return last.uri;
+        }
+        URI app = deploy(name, appPath, instanceName, contextRoot, exploded, hotDeploy, keepState);
+        if (app != null) {
+            deployments.put(name, new Deployment(digest, app));
+        }
+        return app;
+    }
+
+    protected URI deploy(String name, String appPath, String instanceName, String contextRoot, boolean exploded, boolean hotDeploy, boolean keepState) {
         Command command = new Command(ASADMIN_PATH, DEPLOY_COMMAND, name);
         command.setPath(appPath);
         command.setContextRoot(contextRoot);
         command.setInstanceName(instanceName);
-        command.setQuery(query(command));
         command.setDirDeploy(exploded);
         command.setHotDeploy(hotDeploy);
+        command.setKeepState(keepState);
+        command.setQuery(query(command));
         Response deploy;
         try {
             deploy = invokeServer(payaraServer, command);
             if (deploy != null && deploy.isExitCodeSuccess()) {
-                Response response = getApplicationInfo(name);
-                if (response != null && response.isExitCodeSuccess()) {
+                String resolvedContextRoot = resolveContextRoot(name, contextRoot);
+                if (resolvedContextRoot != null) {
                     URI app = new URI(payaraServer.getProtocol(), null,
                             payaraServer.getHost(),
                             payaraServer.getProtocol().equals(HTTP) ? payaraServer.getHttpPort() : payaraServer.getHttpsPort(),
-                            getContextRoot(((JsonResponse) response).getJsonBody()), null, null);
+                            resolvedContextRoot, null, null);
                     log.info(name + " application deployed successfully : " + app.toString());
                     return app;
                 } else {
@@ -288,7 +308,47 @@ public class InstanceManager<X extends PayaraServerInstance> {
         }
         return null;
     }
-    
+
+    /**
+     * Resolves the context root of a deployed application, asking the server
+     * if it is not given, as the redeployed archive may declare another one.
+     * Skipped deployments reuse the URI of the last deployment instead.
+     */
+    private String resolveContextRoot(String name, String contextRoot) throws Exception {
+        if (contextRoot != null && !contextRoot.isEmpty()) {
+            return contextRoot.startsWith("/") ? contextRoot : "/" + contextRoot;
+        }
+        Response response = getApplicationInfo(name);
+        if (response != null && response.isExitCodeSuccess()) {
+            return getContextRoot(((JsonResponse) response).getJsonBody());
+        }
+        return null;
+    }
+
+    /**
+     * @return the SHA-256 digest of the archive, or <code>null</code> if it
+     * is not a readable file.
+     */
+    private String digest(String appPath) {
+        Path path = Paths.get(appPath);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+            return new BigInteger(1, digest.digest()).toString(16);
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            log.debug(ex);
+            return null;
+        }
+    }
+
     public Response getApplicationInfo(String name) throws Exception {
         Command command = new Command(ASADMIN_PATH, GET_COMMAND, "applications.application." + name + ".context-root");
         command.setQuery(query(command));
@@ -308,6 +368,7 @@ public class InstanceManager<X extends PayaraServerInstance> {
     }
 
     public void undeployApplication(String name, String instanceName) {
+        deployments.remove(name);
         Command command = new Command(ASADMIN_PATH, UNDEPLOY_COMMAND, name);
         command.setQuery(query(command));
         command.setInstanceName(instanceName);
@@ -319,269 +380,16 @@ public class InstanceManager<X extends PayaraServerInstance> {
     }
 
     protected Response invokeServer(PayaraServerInstance instance, Command command) throws Exception {
-        boolean httpSucceeded = false;
-        String commandUrl = constructCommandUrl(instance, command);
-        int retries = 1;
-        Response response = null;
-        try {
-            URL urlToConnectTo = new URL(commandUrl);
-            while (!httpSucceeded && retries-- > 0) {
-                HttpURLConnection hconn = null;
-                try {
-                    URLConnection conn = openURLConnection(urlToConnectTo);
-                    if (conn instanceof HttpURLConnection) {
-                        hconn = (HttpURLConnection) conn;
-                        response = handleHTTPConnection(instance, command, conn, urlToConnectTo);
-                        httpSucceeded = true;
-                    }
-                } catch (ProtocolException | ConnectException | RuntimeException ex) {
-                    return response;
-                } catch (IOException ex) {
-                    if (retries <= 0) {
-                        return response;
-                    }
-                } finally {
-                    if (null != hconn) {
-                        if (hconn.getInputStream() != null) {
-                            try {
-                                hconn.getInputStream().close();
-                            } catch (IOException ioe) {
-                            }
-                        }
-                        hconn.disconnect();
-                    }
-                }
-
-                if (!httpSucceeded && retries > 0) {
-                    try {
-                        Thread.sleep(HTTP_RETRY_DELAY);
-                    } catch (InterruptedException ie) {
-                        log.info("sleepInterrupted", ie);
-                    }
-                }
-            }
-        } catch (MalformedURLException ex) {
-            log.warn(ex);
-        }
-        return response;
-    }
-
-    /**
-     * Creates {@link URLConnection} instance that represents a connection to
-     * Payara server administration interface.
-     *
-     * @param urlToConnectTo Payara server administration interface URL.
-     * @return server administration interface URL connection.
-     * @throws IOException IOException if an I/O error occurs while opening the
-     * connection.
-     */
-    private static URLConnection openURLConnection(
-            final URL urlToConnectTo) throws IOException {
-        InetAddress addr;
-        try {
-            addr = InetAddress.getByName(urlToConnectTo.getHost());
-        } catch (UnknownHostException ex) {
-            addr = null;
-        }
-        if (addr != null && addr.isLoopbackAddress()) {
-            return urlToConnectTo.openConnection(Proxy.NO_PROXY);
-        }
-        return urlToConnectTo.openConnection();
-    }
-
-    /**
-     * Handle HTTP connections to server.
-     *
-     * @return State change request when <code>call()</code> method should exit.
-     */
-    private Response handleHTTPConnection(PayaraServerInstance instance, Command command, URLConnection conn, URL urlToConnectTo) throws IOException {
-        HttpURLConnection hconn = (HttpURLConnection) conn;
-        if (conn instanceof HttpsURLConnection) {
-            handleSecureConnection((HttpsURLConnection) conn);
-        }
-        prepareHttpConnection(instance, command, hconn);
-        // Connect to server.
-        hconn.connect();
-        // Send data to server if necessary.
-        handleSend(command, hconn);
-        int respCode = hconn.getResponseCode();
-        StringBuilder response;
-        try (BufferedReader in = new BufferedReader(new InputStreamReader(hconn.getInputStream()))) {
-            String inputLine;
-            response = new StringBuilder();
-            while ((inputLine = in.readLine()) != null) {
-                response.append('\n').append(inputLine);
-            }
-        }
-        if(respCode == HttpURLConnection.HTTP_MOVED_TEMP) {
-            String location = hconn.getHeaderField(LOCATION_HEADER);
-            if (location.startsWith(HTTPS_PREFIX) && hconn.getURL().toString().startsWith(HTTP_PREFIX)) {
-                URL secureUrl = new URL(location);
-                URLConnection newConn = secureUrl.openConnection();
-                instance.setProtocol(HTTPS);
-                return handleHTTPConnection(instance, command, newConn, secureUrl);
-            }
-        }
-
-        if (command.getContentType().equals(CONTENT_TYPE_PLAIN_TEXT)) {
-            return new PlainResponse(response.toString(), respCode, hconn.getHeaderFields());
-        }
-        return new JsonResponse(response.toString(), respCode, hconn.getHeaderFields());
-    }
-
-    private void handleSend(Command command, HttpURLConnection hconn) throws IOException {
-        InputStream istream = getInputStream(command);
-        if (istream != null) {
-            ZipOutputStream ostream = null;
-            try {
-                File file = new File(command.getPath());
-                ostream = new ZipOutputStream(new BufferedOutputStream(
-                        hconn.getOutputStream(), 1024 * 1024));
-                ZipEntry e = new ZipEntry(file.getName());
-                e.setExtra(getExtraProperties(file));
-                ostream.putNextEntry(e);
-                byte[] buffer = new byte[1024 * 1024];
-                while (true) {
-                    int n = istream.read(buffer);
-                    if (n < 0) {
-                        break;
-                    }
-                    ostream.write(buffer, 0, n);
-                }
-                ostream.closeEntry();
-                ostream.flush();
-            } finally {
-                try {
-                    istream.close();
-                } catch (IOException ex) {
-                    log.error(ex);
-                }
-                if (ostream != null) {
-                    try {
-                        ostream.close();
-                    } catch (IOException ex) {
-                        log.error(ex);
-                    }
-                }
-            }
-        }
+        return adminClient.send(instance, command);
     }
 
     /**
-     * Get extra properties for ZIP entries.
-     * <p/>
-     * @return Extra properties for ZIP entries.
+     * Sends the command without blocking the caller. The future completes
+     * exceptionally if the server could not be reached or its response could
+     * not be read.
      */
-    private byte[] getExtraProperties(File file) {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        Properties props = new Properties();
-        props.setProperty("data-request-type", "file-xfer");
-        props.setProperty("last-modified", Long.toString(file.lastModified()));
-        props.put("data-request-name", "DEFAULT");
-        props.put("data-request-is-recursive", "true");
-        props.put(CONTENT_TYPE_HEADER, CONTENT_TYPE_STREAM);
-        props.list(new java.io.PrintStream(baos));
-        return baos.toByteArray();
-    }
-
-private InputStream getInputStream(Command command) {
-    if (command.isDirDeploy()) {
-        return null;
-    } else if (command.getPath() != null) {
-        File file = new File(command.getPath());
-        if (!file.exists() || !file.canRead()) {
-            log.error("File not found or cannot be read: " + command.getPath());
-            return null;
-        }
-        try {
-            return new FileInputStream(file);
-        } catch (FileNotFoundException fnfe) {
-            log.error("Exception while opening file: " + fnfe.getMessage());
-            return null;
-        }
-    }
-    return null;
-}
-
-    /**
-     * Prepare headers for HTTP connection. This handles all common headers for
-     * all implemented command interfaces (REST, HTTP, ...).
-     *
-     * @param conn Target HTTP connection.
-     * @throws IllegalStateException if there is a problem with setting the
-     * headers.
-     */
-    private void prepareHttpConnection(PayaraServerInstance server, Command command, HttpURLConnection conn)
-            throws IllegalStateException {
-        conn.setAllowUserInteraction(false);
-        conn.setDoInput(true);
-        conn.setUseCaches(false);
-        conn.setConnectTimeout(server.getHttpConnectionTimeout());
-        String adminUser = server.getAdminUser();
-        String adminPassword = server.getAdminPassword();
-        try {
-            conn.setRequestMethod(command.isDirDeploy() || command.getPath() == null ? HTTP_GET_METHOD : HTTP_POST_METHOD);
-        } catch (ProtocolException pe) {
-            throw new IllegalStateException(pe);
-        }
-        conn.setDoOutput(!command.isDirDeploy());
-        String contentType = command.isDirDeploy() || command.getPath() == null ? null : CONTENT_TYPE_ZIP;
-        if (contentType != null && contentType.length() > 0) {
-            conn.setRequestProperty("Content-Type", contentType);
-            conn.setChunkedStreamingMode(0);
-        }
-        conn.setRequestProperty("Accept", command.getContentType());
-        if (adminPassword != null && adminPassword.length() > 0) {
-            String authString = ServerUtils.basicAuthCredentials(
-                    adminUser, adminPassword);
-            conn.setRequestProperty("Authorization", "Basic " + authString);
-        }
-    }
-
-    private void handleSecureConnection(final HttpsURLConnection conn) {
-        TrustManager[] tm = new TrustManager[]{
-            new X509TrustManager() {
-
-                @Override
-                public void checkClientTrusted(X509Certificate[] arg0,
-                        String arg1) throws CertificateException {
-                }
-
-                @Override
-                public void checkServerTrusted(X509Certificate[] arg0,
-                        String arg1) throws CertificateException {
-                }
-
-                @Override
-                public X509Certificate[] getAcceptedIssuers() {
-                    return null;
-                }
-            }
-        };
-
-        SSLContext context;
-        try {
-            context = SSLContext.getInstance("SSL");
-            context.init(null, tm, null);
-            conn.setSSLSocketFactory(context.getSocketFactory());
-            conn.setHostnameVerifier((String string, SSLSession ssls) -> true);
-        } catch (NoSuchAlgorithmException | KeyManagementException ex) {
-            log.error(conn.getURL().toString(), ex);
-        }
-    }
-
-    private String constructCommandUrl(PayaraServerInstance server, Command command) throws IllegalStateException {
-        if(command.getCommand().startsWith(HTTP)) {
-            return command.getCommand();
-        }
-        URI uri;
-        try {
-            uri = new URI(server.getProtocol(), null, server.getHost(), server.getAdminPort(),
-                    command.getRootPath() + command.getCommand(), command.getQuery(), null);
-        } catch (URISyntaxException use) {
-            throw new IllegalStateException(use);
-        }
-        return uri.toASCIIString().replace("+", "%2b");
+    protected CompletableFuture<Response> invokeServerAsync(PayaraServerInstance instance, Command command) {
+        return adminClient.sendAsync(instance, command);
     }
 
     /**
@@ -614,6 +422,11 @@ private InputStream getInputStream(Command command) {
                     sb.append(HOT_DEPLOY_PARAM);
                     sb.append(PARAM_ASSIGN_VALUE).append(command.isHotDeploy());
                 }
+                if (command.isKeepState()) {
+                    sb.append(PARAM_SEPARATOR);
+                    sb.append(KEEP_STATE_PARAM);
+                    sb.append(PARAM_ASSIGN_VALUE).append(command.isKeepState());
+                }
                 break;
             case UNDEPLOY_COMMAND:
                 sb.append(DEFAULT_PARAM).append(PARAM_ASSIGN_VALUE).append(command.getValue());
@@ -624,6 +437,7 @@ private InputStream getInputStream(Command command) {
             case VIEW_LOG_COMMAND:
                 sb.append(START_PARAM).append(PARAM_ASSIGN_VALUE).append(command.getValue());
                 if (command.getInstanceName() != null) {
+                    sb.append(PARAM_SEPARATOR);
                     sb.append(INSTANCE_NAME_PARAM).append(PARAM_ASSIGN_VALUE).append(command.getInstanceName());
                 }
                 break;
@@ -648,4 +462,18 @@ private InputStream getInputStream(Command command) {
         }
         return serverRunning;
     }
+
+    /**
+     * Last successful deployment of an application.
+     */
+    private static class Deployment {
+
+        private final String digest;
+        private final URI uri;
+
+        private Deployment(String digest, URI uri) {
+            this.digest = digest;
+            this.uri = uri;
+        }
+    }
 }
@@ -0,0 +1,208 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins.server.manager;
+
+import fish.payara.maven.plugins.server.parser.JDKProbe;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * The command line a local server was started with, persisted under the
+ * domain so that later starts with the same inputs reuse it instead of
+ * computing it again from domain.xml.
+ * <p>
+ * A plan is identified by a digest of domain.xml, the JDK identity and the
+ * options of the start, and is only reused by starts with the same digest.
+ *
+ * @author Gaurav Gupta
+ */
+public class LaunchPlan {
+
+    private static final int VERSION = 1;
+
+    private final String key;
+    private final List<String> command;
+    private final String directory;
+    private final String debugOptions;
+
+    public LaunchPlan(String key, List<String> command, String directory, String debugOptions) {
+        this.key = key;
+        this.command = Collections.unmodifiableList(new ArrayList<>(command));
+        this.directory = directory;
+        this.debugOptions = debugOptions;
+    }
+
+    /**
+     * @return the SHA-256 digest identifying the plan of a start with the
+     * given domain.xml, JDK and options.
+     */
+    public static String key(Path domainXml, JDKProbe jdk, List<String> options) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(VERSION).array());
+            try (FileChannel channel = FileChannel.open(domainXml, StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+                while (channel.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer);
+                    buffer.clear();
+                }
+            }
+            update(digest, jdk.getIdentity());
+            update(digest, File.pathSeparator);
+            for (String option : options) {
+                update(digest, option);
+            }
+            return new BigInteger(1, digest.digest()).toString(16);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update((byte) 1);
+        } else {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    /**
+     * @return the plan stored in the file, or <code>null</code> if there is
+     * none for the key.
+     */
+    public static LaunchPlan load(Path planFile, String key, Log log) {
+        if (!Files.isRegularFile(planFile)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(planFile)))) {
+            if (in.readInt() != VERSION || !key.equals(in.readUTF())) {
+                return null;
+            }
+            String directory = in.readUTF();
+            String debugOptions = in.readBoolean() ? in.readUTF() : null;
+            int count = in.readInt();
+            List<String> command = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                command.add(in.readUTF());
+            }
+            return new LaunchPlan(key, command, directory, debugOptions);
+        } catch (IOException ex) {
+            log.debug("Unable to read launch plan " + planFile, ex);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the plan to a temporary file moved over the plan file, so that
+     * a concurrent start never reads a partial plan.
+     */
+    public void save(Path planFile, Log log) {
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(planFile.getParent(), planFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(VERSION);
+                out.writeUTF(key);
+                out.writeUTF(directory);
+                out.writeBoolean(debugOptions != null);
+                if (debugOptions != null) {
+                    out.writeUTF(debugOptions);
+                }
+                out.writeInt(command.size());
+                for (String argument : command) {
+                    out.writeUTF(argument);
+                }
+            }
+            Files.move(tempFile, planFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            log.debug("Unable to save launch plan " + planFile, ex);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ex) {
+                    log.debug(ex);
+                }
+            }
+        }
+    }
+
+    public List<String> getCommand() {
+        return command;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return the debug option of the command, or <code>null</code> if not
+     * started in debug mode.
+     */
+    public String getDebugOptions() {
+        return debugOptions;
+    }
+
+    public ProcessBuilder toProcessBuilder() {
+        ProcessBuilder processBuilder = new ProcessBuilder(command);
+        processBuilder.directory(new File(directory));
+        return processBuilder;
+    }
+
+}
@@ -41,6 +41,7 @@ package fish.payara.maven.plugins.server.manager;
 import fish.payara.maven.plugins.server.Command;
 import fish.payara.maven.plugins.server.response.Response;
 import static fish.payara.maven.plugins.server.Configuration.DAS_NAME;
+import static fish.payara.maven.plugins.server.Configuration.LAUNCH_PLAN_FILE;
 import fish.payara.maven.plugins.server.Option;
 import fish.payara.maven.plugins.server.parser.JvmConfigReader;
 import fish.payara.maven.plugins.server.parser.JvmOption;
@@ -49,12 +50,14 @@ import fish.payara.maven.plugins.server.utils.ServerUtils;
 import fish.payara.maven.plugins.server.utils.StringUtils;
 import java.io.File;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.maven.plugin.logging.Log;
+import fish.payara.maven.plugins.server.parser.JDKProbe;
 import fish.payara.maven.plugins.server.parser.JDKVersion;
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -72,20 +75,79 @@ public class LocalInstanceManager extends InstanceManager<PayaraServerLocalInsta
     private static final String ERROR_BOOTSTRAP_JAR_NOT_FOUND = "No bootstrap jar exists.";
     private static final String ERROR_JAVA_VM_EXECUTABLE_NOT_FOUND = "Java VM executable for %s was not found.";
 
+    private String debugOptions;
+
     public LocalInstanceManager(PayaraServerLocalInstance payaraServer, Log log) {
         super(payaraServer, log);
     }
 
+    /**
+     * @return the debug option the server was last started with, or
+     * <code>null</code> if not started in debug mode.
+     */
+    public String getDebugOptions() {
+        return debugOptions;
+    }
+
     public ProcessBuilder startServer(String debug, String debugPort, List<Option> javaCommandLineOptions, List<Option> commandLineOptions) throws Exception {
-        JvmConfigReader jvmConfigReader = new JvmConfigReader(payaraServer.getDomainXml(), DAS_NAME);
         String javaHome = payaraServer.getJDKHome();
         if (javaHome == null) {
             throw new Exception(ERROR_JAVA_HOME_NOT_FOUND);
         }
-        JDKVersion javaVersion = JDKVersion.getJDKVersion(javaHome);
-        if (javaVersion == null) {
+        JDKProbe jdk = JDKProbe.of(javaHome);
+        if (jdk.getVersion() == null) {
             throw new Exception(ERROR_JAVA_VERSION_NOT_FOUND);
         }
+        String bootstrapJar = Paths.get(payaraServer.getServerModules(), "glassfish.jar").toString();
+        if (!Files.exists(Paths.get(bootstrapJar))) {
+            throw new Exception(ERROR_BOOTSTRAP_JAR_NOT_FOUND);
+        }
+
+        Path planFile = Paths.get(payaraServer.getDomainPath(), LAUNCH_PLAN_FILE);
+        String planKey = LaunchPlan.key(Paths.get(payaraServer.getDomainXml()), jdk,
+                getLaunchInputs(debug, debugPort, javaCommandLineOptions, commandLineOptions));
+        LaunchPlan plan = LaunchPlan.load(planFile, planKey, log);
+        if (plan == null) {
+            plan = createLaunchPlan(planKey, jdk, bootstrapJar, debug, debugPort, javaCommandLineOptions, commandLineOptions);
+            plan.save(planFile, log);
+        } else {
+            log.debug("Reusing launch plan " + planFile);
+        }
+        debugOptions = plan.getDebugOptions();
+        log.info("Starting Payara Server with arguments: " + String.join(" ", plan.getCommand()));
+        return plan.toProcessBuilder();
+    }
+
+    /**
+     * @return everything besides domain.xml and the JDK the command line
+     * depends on.
+     */
+    private List<String> getLaunchInputs(String debug, String debugPort, List<Option> javaCommandLineOptions, List<Option> commandLineOptions) {
+        List<String> inputs = new ArrayList<>();
+        inputs.add(payaraServer.getJDKHome());
+        inputs.add(payaraServer.getPath());
+        inputs.add(payaraServer.getServerHome());
+        inputs.add(payaraServer.getServerModules());
+        inputs.add(payaraServer.getDomainName());
+        inputs.add(payaraServer.getDomainPath());
+        inputs.add(debug);
+        inputs.add(debugPort);
+        for (List<Option> options : Arrays.asList(javaCommandLineOptions, commandLineOptions)) {
+            inputs.add(options == null ? null : Integer.toString(options.size()));
+            if (options != null) {
+                for (Option option : options) {
+                    inputs.add(option.getKey());
+                    inputs.add(option.getValue());
+                }
+            }
+        }
+        return inputs;
+    }
+
+    private LaunchPlan createLaunchPlan(String planKey, JDKProbe jdk, String bootstrapJar, String debug, String debugPort,
+            List<Option> javaCommandLineOptions, List<Option> commandLineOptions) throws Exception {
+        JvmConfigReader jvmConfigReader = new JvmConfigReader(payaraServer.getDomainXml(), DAS_NAME);
+        String javaHome = payaraServer.getJDKHome();
 
         List<String> options = new ArrayList<>();
         if (javaCommandLineOptions != null) {
@@ -115,16 +177,12 @@ public class LocalInstanceManager extends InstanceManager<PayaraServerLocalInsta
         
         List<String> optList = new ArrayList<>();
         for (JvmOption jvmOption : jvmConfigReader.getJvmOptions()) {
-            if (JDKVersion.isCorrectJDK(javaVersion, jvmOption, javaHome)) {
+            if (JDKVersion.isCorrectJDK(jdk, jvmOption)) {
                 optList.add(jvmOption.getOption());
             }
         }
         Map<String, String> propMap = jvmConfigReader.getPropMap();
         addJavaAgent(payaraServer, jvmConfigReader);
-        String bootstrapJar = Paths.get(payaraServer.getServerModules(), "glassfish.jar").toString();
-        if (!Files.exists(Paths.get(bootstrapJar))) {
-            throw new Exception(ERROR_BOOTSTRAP_JAR_NOT_FOUND);
-        }
         if (bootstrapJar.contains(" ")) {
             bootstrapJar = "\"" + bootstrapJar + "\"";
         }
@@ -133,15 +191,17 @@ public class LocalInstanceManager extends InstanceManager<PayaraServerLocalInsta
         String payaraArgs;
         Map<String, String> varMap = varMap(payaraServer, javaHome);
         String debugOpt = propMap.get("debug-options");
+        String debugOption = null;
         if (debug != null && !debug.equalsIgnoreCase(Boolean.FALSE.toString()) && debugOpt != null) {
             if (Boolean.parseBoolean(debug)) {
                 if (isValidPort(debugPort)) {
                     debugOpt = debugOpt.replaceAll("address=\\d+", "address=" + debugPort);
                 }
-                optList.add(debugOpt);
+                debugOption = debugOpt;
             } else {
-                optList.add(debug);
+                debugOption = debug;
             }
+            optList.add(debugOption);
         }
         javaOpts = appendOptions(optList, varMap);
         javaOpts += appendVarMap(varMap);
@@ -152,10 +212,7 @@ public class LocalInstanceManager extends InstanceManager<PayaraServerLocalInsta
         }
         String allArgs = String.join(" ", javaVmExe, javaOpts, javaConfigOptions, "-jar", bootstrapJar, "--classpath", classPath, payaraArgs, payaraConfigOptions);
         List<String> args = JavaUtils.parseParameters(allArgs);
-        log.info("Starting Payara Server with arguments: " + String.join(" ", args));
-        ProcessBuilder processBuilder = new ProcessBuilder(args);
-        processBuilder.directory(new File(payaraServer.getPath()));
-        return processBuilder;
+        return new LaunchPlan(planKey, args, payaraServer.getPath(), debugOption);
     }
 
     private boolean isValidPort(String portStr) {
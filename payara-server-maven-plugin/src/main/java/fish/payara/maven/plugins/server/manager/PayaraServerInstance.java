@@ -57,6 +57,7 @@ public abstract class PayaraServerInstance {
     
     protected Integer httpConnectionTimeout;
     protected Integer httpReadTimeout;
+    protected boolean http2;
 
     public String getAdminUser() {
         return adminUser;
@@ -130,4 +131,12 @@ public abstract class PayaraServerInstance {
         this.httpReadTimeout = httpReadTimeout;
     }
 
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    public void setHttp2(boolean http2) {
+        this.http2 = http2;
+    }
+
 }
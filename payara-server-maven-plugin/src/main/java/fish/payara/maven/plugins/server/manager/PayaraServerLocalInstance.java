@@ -71,7 +71,6 @@ public class PayaraServerLocalInstance extends PayaraServerInstance {
     public static final String LOCATION_HEADER = "Location";
     public static final String LOCALHOST = "localhost";
 
-    private PortReader portReader;
     private Process logStream;
 
     private final String path;
@@ -180,10 +179,7 @@ public class PayaraServerLocalInstance extends PayaraServerInstance {
         if (httpPort > 0) {
             return httpPort;
         }
-        if (portReader == null) {
-            portReader = createPortReader();
-        }
-        return portReader.getHttpPort();
+        return createPortReader().getHttpPort();
     }
 
     @Override
@@ -191,10 +187,7 @@ public class PayaraServerLocalInstance extends PayaraServerInstance {
         if (httpsPort > 0) {
             return httpsPort;
         }
-        if (portReader == null) {
-            portReader = createPortReader();
-        }
-        return portReader.getHttpsPort();
+        return createPortReader().getHttpsPort();
     }
 
     @Override
@@ -202,12 +195,13 @@ public class PayaraServerLocalInstance extends PayaraServerInstance {
         if (adminPort > 0) {
             return adminPort;
         }
-        if (portReader == null) {
-            portReader = createPortReader();
-        }
-        return portReader.getAdminPort();
+        return createPortReader().getAdminPort();
     }
 
+    /**
+     * The domain model is cached until domain.xml changes, so reading the
+     * ports again is cheap and picks up port changes.
+     */
     private PortReader createPortReader() {
         return new PortReader(getDomainXml(), DAS_NAME);
     }
@@ -38,9 +38,8 @@
  */
 package fish.payara.maven.plugins.server.manager;
 
-import fish.payara.maven.plugins.server.Command;
-import fish.payara.maven.plugins.server.response.Response;
-import java.util.List;
+import java.io.IOException;
+import java.net.URI;
 import org.apache.maven.plugin.logging.Log;
 
 /**
@@ -49,40 +48,34 @@ import org.apache.maven.plugin.logging.Log;
  */
 public class RemoteInstanceManager extends InstanceManager<PayaraServerRemoteInstance> {
 
+    private DeltaDeployment deltaDeployment;
+
     public RemoteInstanceManager(PayaraServerRemoteInstance payaraServer, Log log) {
         super(payaraServer, log);
     }
 
-    private String appendPreviousStart, appendnextStart;
-    private static final String APPEND_NEXT_HEADER = "X-Text-Append-Next";
-
-    public String fetchLogs(String instanceName) {
-        Command command = new Command(MANAGEMENT_PATH, VIEW_LOG_COMMAND, "0");
-        command.setContentType(CONTENT_TYPE_PLAIN_TEXT);
-        command.setInstanceName(instanceName);
-        if (appendnextStart == null) {
-            command.setQuery(query(command));
-        } else {
-            command.setQuery(appendnextStart);
-        }
+    public void setDeltaDeployment(DeltaDeployment deltaDeployment) {
+        this.deltaDeployment = deltaDeployment;
+    }
 
-        Response logResponse;
-        try {
-            logResponse = invokeServer(payaraServer, command);
-            List<String> headerValues = logResponse.getHeaderFields().get(APPEND_NEXT_HEADER);
-            if (headerValues != null && !headerValues.isEmpty()) {
-                String headerValue = headerValues.get(0);
-                int questionMarkIndex = headerValue.indexOf('?');
-                if (questionMarkIndex != -1 && questionMarkIndex < headerValue.length() - 1) {
-                    appendPreviousStart = appendnextStart;
-                    appendnextStart = headerValue.substring(questionMarkIndex + 1);
+    /**
+     * Deploys the application from the directory shared with the remote
+     * host when delta deployment is enabled, uploading the whole archive
+     * otherwise.
+     */
+    @Override
+    protected URI deploy(String name, String appPath, String instanceName, String contextRoot, boolean exploded, boolean hotDeploy, boolean keepState) {
+        if (deltaDeployment != null && !exploded) {
+            try {
+                String remotePath = deltaDeployment.synchronize(name, appPath);
+                if (remotePath != null) {
+                    return super.deploy(name, remotePath, instanceName, contextRoot, true, hotDeploy, keepState);
                 }
+            } catch (IOException ex) {
+                log.warn("Delta deployment failed, uploading the whole archive: " + ex.getMessage());
             }
-            return appendPreviousStart == null || appendnextStart.equals(appendPreviousStart) ? "" : logResponse.toString();
-        } catch (Exception ex) {
-            log.error("Error retrieving log: " + ex.getMessage());
         }
-        return null;
+        return super.deploy(name, appPath, instanceName, contextRoot, exploded, hotDeploy, keepState);
     }
 
 }
@@ -0,0 +1,197 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins.server.manager;
+
+import fish.payara.maven.plugins.server.Command;
+import static fish.payara.maven.plugins.server.manager.InstanceManager.CONTENT_TYPE_PLAIN_TEXT;
+import static fish.payara.maven.plugins.server.manager.InstanceManager.MANAGEMENT_PATH;
+import static fish.payara.maven.plugins.server.manager.InstanceManager.VIEW_LOG_COMMAND;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Streams the server log of a remote instance through the
+ * <code>view-log</code> endpoint, following its
+ * <code>X-Text-Append-Next</code> links.
+ * <p>
+ * The polling interval shrinks to its minimum while the log grows and backs
+ * off exponentially while it is idle. Requests ask for a gzip response over
+ * a kept alive connection, and the response is split into lines as it is
+ * read, truncating overlong lines so that memory stays bounded. A trailing
+ * line without its line feed is kept until the line feed is received, and
+ * the lines are only printed once the whole response is received, as the
+ * content of a failed request is received again.
+ *
+ * @author Gaurav Gupta
+ */
+public class RemoteLogStreamer implements Runnable {
+
+    private static final String APPEND_NEXT_HEADER = "X-Text-Append-Next";
+    private static final String GZIP = "gzip";
+    private static final long MIN_INTERVAL = 250;
+    private static final long MAX_INTERVAL = 5000;
+    private static final int MAX_LINE_LENGTH = 16 * 1024;
+
+    private final RemoteInstanceManager manager;
+    private final String instanceName;
+    private final Consumer<String> consumer;
+    private final Log log;
+    private final char[] buffer = new char[8 * 1024];
+    private final StringBuilder line = new StringBuilder();
+    private final List<String> received = new ArrayList<>();
+    private String nextQuery;
+    private boolean failing;
+
+    public RemoteLogStreamer(RemoteInstanceManager manager, String instanceName, Consumer<String> consumer, Log log) {
+        this.manager = manager;
+        this.instanceName = instanceName;
+        this.consumer = consumer;
+        this.log = log;
+    }
+
+    /**
+     * Streams the log until the thread is interrupted. The content logged
+     * before the first request is skipped.
+     */
+    @Override
+    public void run() {
+        long interval = MIN_INTERVAL;
+        boolean attached = false;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                int lines = fetch(attached);
+                if (lines >= 0) {
+                    attached = true;
+                }
+                interval = lines > 0 ? MIN_INTERVAL : Math.min(interval * 2, MAX_INTERVAL);
+                Thread.sleep(interval);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the number of lines received, or -1 if the request failed.
+     */
+    private int fetch(boolean print) {
+        // the content is received again after a failure
+        String partialLine = line.toString();
+        received.clear();
+        Command command = new Command(MANAGEMENT_PATH, VIEW_LOG_COMMAND, "0");
+        command.setContentType(CONTENT_TYPE_PLAIN_TEXT);
+        command.setInstanceName(instanceName);
+        command.setQuery(nextQuery != null ? nextQuery : InstanceManager.query(command));
+        try {
+            HttpResponse<InputStream> response = manager.adminClient.stream(manager.payaraServer, command,
+                    Collections.singletonMap("Accept-Encoding", GZIP));
+            InputStream body = response.body();
+            if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+                body.close();
+                throw new IOException("HTTP " + response.statusCode());
+            }
+            String next = response.headers().firstValue(APPEND_NEXT_HEADER).orElse(null);
+            int lines;
+            InputStream in = body;
+            if (GZIP.equalsIgnoreCase(response.headers().firstValue("Content-Encoding").orElse(null))) {
+                in = new GZIPInputStream(in);
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                lines = readLines(reader);
+                // the connection is only reused once the body is read to its end
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+            if (print) {
+                received.forEach(consumer);
+            }
+            received.clear();
+            if (next != null) {
+                int questionMarkIndex = next.indexOf('?');
+                if (questionMarkIndex != -1 && questionMarkIndex < next.length() - 1) {
+                    nextQuery = next.substring(questionMarkIndex + 1);
+                }
+            }
+            failing = false;
+            return lines;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (IOException ex) {
+            line.setLength(0);
+            line.append(partialLine);
+            received.clear();
+            if (!failing) {
+                log.error("Error retrieving log: " + ex.getMessage());
+                failing = true;
+            }
+            return -1;
+        }
+    }
+
+    private int readLines(Reader reader) throws IOException {
+        int lines = 0;
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+                if (c == '\n') {
+                    received.add(line.toString());
+                    line.setLength(0);
+                    lines++;
+                } else if (c != '\r' && line.length() < MAX_LINE_LENGTH) {
+                    line.append(c);
+                }
+            }
+        }
+        return lines;
+    }
+
+}
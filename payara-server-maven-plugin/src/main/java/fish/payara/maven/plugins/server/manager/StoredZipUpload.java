@@ -0,0 +1,250 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins.server.manager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Properties;
+import java.util.concurrent.Flow;
+import java.util.zip.CRC32;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Request body uploading an application to the administration interface as
+ * the single entry of a ZIP archive.
+ * <p>
+ * The application archive is already compressed, so the entry is STORED
+ * rather than deflated again: its CRC is computed upfront, the ZIP headers
+ * are written around the file content, and the content is sent straight
+ * from the file with a known content length instead of being chunked.
+ *
+ * @author Gaurav Gupta
+ */
+public class StoredZipUpload {
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final short VERSION = 10;
+    private static final short UTF8_FLAG = 0x0800;
+    private static final short STORED = 0;
+    private static final long MAX_SIZE = 0xFFFFFFFFL;
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    private static final String CONTENT_TYPE_STREAM = "application/octet-stream";
+
+    private final File file;
+    private final Log log;
+
+    public StoredZipUpload(File file, Log log) {
+        this.file = file;
+        this.log = log;
+    }
+
+    public HttpRequest.BodyPublisher getBodyPublisher() throws IOException {
+        long size = file.length();
+        if (size >= MAX_SIZE) {
+            throw new IOException("File too large to upload: " + file);
+        }
+        long crc = crc();
+        byte[] name = file.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] extra = getExtraProperties(file);
+        int dosTime = dosTime(file.lastModified());
+
+        ByteBuffer header = newBuffer(30 + name.length + extra.length);
+        header.putInt(LOCAL_HEADER_SIGNATURE);
+        putEntry(header, dosTime, crc, size, name, extra);
+        header.put(name).put(extra);
+
+        int centralSize = 46 + name.length + extra.length;
+        long centralOffset = header.capacity() + size;
+        ByteBuffer trailer = newBuffer(centralSize + 22);
+        trailer.putInt(CENTRAL_HEADER_SIGNATURE);
+        trailer.putShort(VERSION);
+        putEntry(trailer, dosTime, crc, size, name, extra);
+        trailer.putShort((short) 0); // comment length
+        trailer.putShort((short) 0); // disk number
+        trailer.putShort((short) 0); // internal attributes
+        trailer.putInt(0); // external attributes
+        trailer.putInt(0); // local header offset
+        trailer.put(name).put(extra);
+        trailer.putInt(END_SIGNATURE);
+        trailer.putShort((short) 0);
+        trailer.putShort((short) 0);
+        trailer.putShort((short) 1);
+        trailer.putShort((short) 1);
+        trailer.putInt(centralSize);
+        trailer.putInt((int) centralOffset);
+        trailer.putShort((short) 0);
+
+        return new ThroughputPublisher(HttpRequest.BodyPublishers.concat(
+                HttpRequest.BodyPublishers.ofByteArray(header.array()),
+                HttpRequest.BodyPublishers.ofFile(file.toPath()),
+                HttpRequest.BodyPublishers.ofByteArray(trailer.array())));
+    }
+
+    private static ByteBuffer newBuffer(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Writes the fields shared by the local and central headers, from the
+     * version needed to extract to the extra field length.
+     */
+    private static void putEntry(ByteBuffer buffer, int dosTime, long crc, long size, byte[] name, byte[] extra) {
+        buffer.putShort(VERSION);
+        buffer.putShort(UTF8_FLAG);
+        buffer.putShort(STORED);
+        buffer.putInt(dosTime);
+        buffer.putInt((int) crc);
+        buffer.putInt((int) size);
+        buffer.putInt((int) size);
+        buffer.putShort((short) name.length);
+        buffer.putShort((short) extra.length);
+    }
+
+    /**
+     * Computes the CRC of the file through a direct buffer, which the
+     * checksum reads without copying it to the heap.
+     */
+    private long crc() throws IOException {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static int dosTime(long time) {
+        LocalDateTime date = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+        if (date.getYear() < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return (date.getYear() - 1980) << 25
+                | date.getMonthValue() << 21
+                | date.getDayOfMonth() << 16
+                | date.getHour() << 11
+                | date.getMinute() << 5
+                | date.getSecond() >> 1;
+    }
+
+    /**
+     * Get extra properties for ZIP entries.
+     * <p/>
+     * @return Extra properties for ZIP entries.
+     */
+    private static byte[] getExtraProperties(File file) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Properties props = new Properties();
+        props.setProperty("data-request-type", "file-xfer");
+        props.setProperty("last-modified", Long.toString(file.lastModified()));
+        props.put("data-request-name", "DEFAULT");
+        props.put("data-request-is-recursive", "true");
+        props.put("Content-Type", CONTENT_TYPE_STREAM);
+        props.list(new PrintStream(baos));
+        return baos.toByteArray();
+    }
+
+    /**
+     * Logs the upload throughput once the whole body has been handed to the
+     * connection.
+     */
+    private class ThroughputPublisher implements HttpRequest.BodyPublisher {
+
+        private final HttpRequest.BodyPublisher delegate;
+
+        private ThroughputPublisher(HttpRequest.BodyPublisher delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            long start = System.nanoTime();
+            delegate.subscribe(new Flow.Subscriber<ByteBuffer>() {
+
+                private long sent;
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscriber.onSubscribe(subscription);
+                }
+
+                @Override
+                public void onNext(ByteBuffer item) {
+                    sent += item.remaining();
+                    subscriber.onNext(item);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    subscriber.onError(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+                    log.info(String.format("Uploaded %s (%.1f MB) in %d ms, %.1f MB/s",
+                            file.getName(), sent / 1e6, millis, sent / 1e3 / millis));
+                    subscriber.onComplete();
+                }
+            });
+        }
+    }
+
+}
@@ -0,0 +1,264 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins.server.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Immutable view of the parts of domain.xml read by the plugin: the
+ * server to config references and, per config, the java-config attributes,
+ * the jvm-options and the network-listener ports.
+ * <p>
+ * The file is streamed once and the model is cached per path until the
+ * modification time or the size of the file changes.
+ *
+ * @author Gaurav Gupta
+ */
+public class DomainModel {
+
+    /**
+     * Modification times closer than this to the time the file was parsed
+     * may hide a later change of the same size, e.g. on file systems with a
+     * coarse timestamp resolution.
+     */
+    private static final long RACY_INTERVAL = 2000;
+    private static final Map<Path, DomainModel> CACHE = new ConcurrentHashMap<>();
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private final long size;
+    private final long modified;
+    private final long parsed;
+    private final Map<String, String> serverConfigs;
+    private final Map<String, Config> configs;
+
+    private DomainModel(long size, long modified, long parsed, Map<String, String> serverConfigs, Map<String, Config> configs) {
+        this.size = size;
+        this.modified = modified;
+        this.parsed = parsed;
+        this.serverConfigs = Collections.unmodifiableMap(serverConfigs);
+        this.configs = Collections.unmodifiableMap(configs);
+    }
+
+    /**
+     * @return the model of the domain.xml file, parsed again only if the
+     * file changed since it was last read.
+     */
+    public static DomainModel of(String domainXmlPath) {
+        Path path = Paths.get(domainXmlPath).toAbsolutePath().normalize();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to parse file " + domainXmlPath + " : " + ex.getMessage(), ex);
+        }
+        long modified = attributes.lastModifiedTime().toMillis();
+        DomainModel model = CACHE.get(path);
+        if (model != null
+                && model.size == attributes.size()
+                && model.modified == modified
+                && model.parsed - modified > RACY_INTERVAL) {
+            return model;
+        }
+        model = parse(path, attributes.size(), modified);
+        CACHE.put(path, model);
+        return model;
+    }
+
+    /**
+     * @return the name of the config referenced by the server, or an empty
+     * string if the server is not defined.
+     */
+    public String getConfigName(String serverName) {
+        String configName = serverConfigs.get(serverName);
+        return configName == null ? "" : configName;
+    }
+
+    /**
+     * @return the config referenced by the server, or <code>null</code> if
+     * either is not defined.
+     */
+    public Config getServerConfig(String serverName) {
+        return configs.get(getConfigName(serverName));
+    }
+
+    private static DomainModel parse(Path path, long size, long modified) {
+        long parsed = System.currentTimeMillis();
+        Map<String, String> serverConfigs = new HashMap<>();
+        Map<String, Config> configs = new HashMap<>();
+        try (InputStream in = Files.newInputStream(path)) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            try {
+                String configName = null;
+                int depth = 0;
+                int configDepth = 0;
+                int javaConfigDepth = 0;
+                Map<String, String> javaConfig = null;
+                List<String> jvmOptions = null;
+                Map<String, String> listenerPorts = null;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.END_ELEMENT) {
+                        if (depth == javaConfigDepth) {
+                            javaConfigDepth = 0;
+                        } else if (depth == configDepth) {
+                            configs.putIfAbsent(configName, new Config(javaConfig, jvmOptions, listenerPorts));
+                            configName = null;
+                            configDepth = 0;
+                        }
+                        depth--;
+                        continue;
+                    }
+                    if (event != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+                    depth++;
+                    switch (reader.getLocalName()) {
+                        case "server":
+                            serverConfigs.putIfAbsent(attribute(reader, "name"), attribute(reader, "config-ref"));
+                            break;
+                        case "config":
+                            if (configName == null) {
+                                configName = attribute(reader, "name");
+                                configDepth = depth;
+                                javaConfig = null;
+                                jvmOptions = new ArrayList<>();
+                                listenerPorts = new HashMap<>();
+                            }
+                            break;
+                        case "java-config":
+                            if (configName != null && javaConfig == null) {
+                                javaConfigDepth = depth;
+                                javaConfig = new LinkedHashMap<>();
+                                for (int i = 0; i < reader.getAttributeCount(); i++) {
+                                    javaConfig.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                                }
+                            }
+                            break;
+                        case "jvm-options":
+                            if (javaConfigDepth > 0) {
+                                // consumes the end element
+                                jvmOptions.add(reader.getElementText().trim());
+                                depth--;
+                            }
+                            break;
+                        case "network-listener":
+                            if (configName != null) {
+                                listenerPorts.put(attribute(reader, "name"), attribute(reader, "port"));
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException ex) {
+            throw new IllegalStateException("Unable to parse file " + path + " : " + ex.getMessage(), ex);
+        }
+        return new DomainModel(size, modified, parsed, serverConfigs, configs);
+    }
+
+    private static String attribute(XMLStreamReader reader, String name) {
+        String value = reader.getAttributeValue(null, name);
+        return value == null ? "" : value;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * A config element of the domain.
+     */
+    public static class Config {
+
+        private final Map<String, String> javaConfig;
+        private final List<String> jvmOptions;
+        private final Map<String, String> listenerPorts;
+
+        private Config(Map<String, String> javaConfig, List<String> jvmOptions, Map<String, String> listenerPorts) {
+            this.javaConfig = javaConfig == null ? Collections.<String, String>emptyMap() : Collections.unmodifiableMap(javaConfig);
+            this.jvmOptions = Collections.unmodifiableList(jvmOptions);
+            this.listenerPorts = Collections.unmodifiableMap(listenerPorts);
+        }
+
+        /**
+         * @return the attributes of the java-config element.
+         */
+        public Map<String, String> getJavaConfig() {
+            return javaConfig;
+        }
+
+        /**
+         * @return the jvm-options of the java-config element, in order.
+         */
+        public List<String> getJvmOptions() {
+            return jvmOptions;
+        }
+
+        /**
+         * @return the port attribute of the named network-listener, or
+         * <code>null</code> if not defined.
+         */
+        public String getListenerPort(String listenerName) {
+            return listenerPorts.get(listenerName);
+        }
+    }
+
+}
@@ -0,0 +1,282 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins.server.parser;
+
+import fish.payara.maven.plugins.server.utils.JavaUtils;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Version, vendor and launch related capabilities of a JDK.
+ * <p>
+ * The version and vendor are read from the release file of the JDK, and
+ * only if it is missing or incomplete from the properties printed by the
+ * java executable. Probes are cached in memory and on disk, keyed by the
+ * canonical java home and invalidated when the modification time of the
+ * release file or of the java executable changes.
+ *
+ * @author Gaurav Gupta
+ */
+public class JDKProbe {
+
+    private static final int VERSION = 2;
+    private static final Map<String, JDKProbe> CACHE = new ConcurrentHashMap<>();
+    private static final Path STORE_DIRECTORY = Paths.get(System.getProperty("user.home"), ".m2", "payara-jdk-probes");
+
+    private static final String JAVA_HOME_KEY = "java.home";
+    private static final String RELEASE_MODIFIED_KEY = "release.modified";
+    private static final String JAVA_MODIFIED_KEY = "java.modified";
+    private static final String JAVA_VERSION_KEY = "java.version";
+    private static final String JAVA_VENDOR_KEY = "java.vendor";
+    private static final String CRAC_KEY = "crac";
+    private static final String PROBE_VERSION_KEY = "probe.version";
+
+    private final String javaHome;
+    private final long releaseModified;
+    private final long javaModified;
+    private final String javaVersion;
+    private final String vendor;
+    private final boolean cracSupported;
+    private final JDKVersion version;
+
+    private JDKProbe(String javaHome, long releaseModified, long javaModified, String javaVersion, String vendor,
+            boolean cracSupported) {
+        this.javaHome = javaHome;
+        this.releaseModified = releaseModified;
+        this.javaModified = javaModified;
+        this.javaVersion = javaVersion;
+        this.vendor = vendor;
+        this.cracSupported = cracSupported;
+        this.version = JDKVersion.toValue(javaVersion, vendor);
+    }
+
+    /**
+     * @return the probe of the JDK, probed again only if the JDK changed
+     * since it was last probed.
+     * @throws IOException if the java executable does not exist or cannot
+     * be run.
+     */
+    public static JDKProbe of(String javaHome) throws IOException {
+        File home = new File(javaHome).getCanonicalFile();
+        File javaVmExe = new File(JavaUtils.javaVmExecutableFullPath(home.getPath()));
+        if (!javaVmExe.exists()) {
+            throw new IOException("Java VM executable not found at: " + javaVmExe);
+        }
+        long releaseModified = new File(home, "release").lastModified();
+        long javaModified = javaVmExe.lastModified();
+        String key = home.getPath();
+
+        JDKProbe probe = CACHE.get(key);
+        if (probe != null && probe.isCurrent(releaseModified, javaModified)) {
+            return probe;
+        }
+        Path storeFile = STORE_DIRECTORY.resolve(Integer.toHexString(key.hashCode()) + ".properties");
+        probe = load(storeFile, key);
+        if (probe == null || !probe.isCurrent(releaseModified, javaModified)) {
+            probe = probe(home, javaVmExe, releaseModified, javaModified);
+            if (probe.version == null) {
+                return probe;
+            }
+            probe.save(storeFile);
+        }
+        CACHE.put(key, probe);
+        return probe;
+    }
+
+    /**
+     * @return the version of the JDK, or <code>null</code> if it could not
+     * be determined.
+     */
+    public JDKVersion getVersion() {
+        return version;
+    }
+
+    public String getJavaHome() {
+        return javaHome;
+    }
+
+    /**
+     * @return an identifier of the JDK which changes whenever the JDK is
+     * probed again.
+     */
+    public String getIdentity() {
+        return javaHome + '|' + releaseModified + '|' + javaModified;
+    }
+
+    /**
+     * @return <code>true</code> if the JDK ships CRIU, required by the
+     * CRaC options.
+     */
+    public boolean isCRaCSupported() {
+        return cracSupported;
+    }
+
+    private boolean isCurrent(long releaseModified, long javaModified) {
+        return this.releaseModified == releaseModified && this.javaModified == javaModified;
+    }
+
+    private static JDKProbe probe(File home, File javaVmExe, long releaseModified, long javaModified) throws IOException {
+        String javaVersion = null;
+        String vendor = null;
+        File release = new File(home, "release");
+        if (release.isFile()) {
+            for (String line : Files.readAllLines(release.toPath(), StandardCharsets.UTF_8)) {
+                if (line.startsWith("JAVA_VERSION=")) {
+                    javaVersion = releaseValue(line);
+                } else if (line.startsWith("IMPLEMENTOR=")) {
+                    vendor = releaseValue(line);
+                }
+            }
+        }
+        if (javaVersion == null || javaVersion.isEmpty() || vendor == null) {
+            String[] properties = forkProbe(javaVmExe);
+            javaVersion = properties[0];
+            vendor = properties[1];
+        }
+        return new JDKProbe(home.getPath(), releaseModified, javaModified, javaVersion, vendor,
+                new File(home, "lib/criu").exists());
+    }
+
+    private static String releaseValue(String line) {
+        String value = line.substring(line.indexOf('=') + 1).trim();
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    /**
+     * Runs the java executable to print its properties.
+     *
+     * @return the java.version and java.vendor properties.
+     */
+    private static String[] forkProbe(File javaVmExe) throws IOException {
+        String javaVersion = "";
+        String vendor = null;
+        Process process = new ProcessBuilder(javaVmExe.getPath(), "-XshowSettings:properties", "-version")
+                .redirectErrorStream(true)
+                .start();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.contains("java.version =")) {
+                    javaVersion = extractValue(line);
+                } else if (line.contains("java.vendor =")) {
+                    vendor = extractValue(line);
+                }
+            }
+        }
+        return new String[]{javaVersion, vendor};
+    }
+
+    private static String extractValue(String line) {
+        String[] keyValue = line.split("=");
+        if (keyValue.length == 2) {
+            return keyValue[1].trim();
+        }
+        return "";
+    }
+
+    private static JDKProbe load(Path storeFile, String javaHome) {
+        if (!Files.isRegularFile(storeFile)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(storeFile)) {
+            properties.load(in);
+            if (!Integer.toString(VERSION).equals(properties.getProperty(PROBE_VERSION_KEY))
+                    || !javaHome.equals(properties.getProperty(JAVA_HOME_KEY))) {
+                return null;
+            }
+            return new JDKProbe(javaHome,
+                    Long.parseLong(properties.getProperty(RELEASE_MODIFIED_KEY)),
+                    Long.parseLong(properties.getProperty(JAVA_MODIFIED_KEY)),
+                    properties.getProperty(JAVA_VERSION_KEY),
+                    properties.getProperty(JAVA_VENDOR_KEY),
+                    Boolean.parseBoolean(properties.getProperty(CRAC_KEY)));
+        } catch (IOException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the probe to a temporary file moved over the store file, so
+     * that concurrent builds never read a partial probe. The store is only
+     * a cache, failures are ignored.
+     */
+    private void save(Path storeFile) {
+        Properties properties = new Properties();
+        properties.setProperty(PROBE_VERSION_KEY, Integer.toString(VERSION));
+        properties.setProperty(JAVA_HOME_KEY, javaHome);
+        properties.setProperty(RELEASE_MODIFIED_KEY, Long.toString(releaseModified));
+        properties.setProperty(JAVA_MODIFIED_KEY, Long.toString(javaModified));
+        properties.setProperty(JAVA_VERSION_KEY, javaVersion);
+        if (vendor != null) {
+            properties.setProperty(JAVA_VENDOR_KEY, vendor);
+        }
+        properties.setProperty(CRAC_KEY, Boolean.toString(cracSupported));
+        try {
+            Files.createDirectories(STORE_DIRECTORY);
+            Path tempFile = Files.createTempFile(STORE_DIRECTORY, "probe", ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(tempFile)) {
+                    properties.store(out, null);
+                }
+                Files.move(tempFile, storeFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException ex) {
+            // probed again next time
+        }
+    }
+
+}
@@ -38,12 +38,6 @@
  */
 package fish.payara.maven.plugins.server.parser;
 
-import fish.payara.maven.plugins.server.utils.JavaUtils;
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.util.Optional;
 import java.util.regex.Pattern;
 
 public class JDKVersion {
@@ -232,49 +226,8 @@ public class JDKVersion {
         return javaHome;
     }
 
-    public static JDKVersion getJDKVersion(String javaHome) throws IOException {
-        String javaVersion = "";
-        String implementor = null;
-
-        String javaVmExe = JavaUtils.javaVmExecutableFullPath(javaHome);
-        // Check if the Java executable exists.
-        if (!new File(javaVmExe).exists()) {
-            throw new IOException("Java VM executable not found at: " + javaVmExe);
-        }
-
-        // Run the command to get Java properties and version.
-        Process process = new ProcessBuilder(javaVmExe, "-XshowSettings:properties", "-version")
-                .redirectErrorStream(true)
-                .start();
-
-        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-        String line;
-        while ((line = reader.readLine()) != null) {
-            if (line.contains("java.version =")) {
-                javaVersion = extractValue(line);
-            } else if (line.contains("java.vendor =")) {
-                implementor = extractValue(line);
-            }
-        }
-
-        reader.close();
-
-        if (!javaVersion.isEmpty()) {
-            return JDKVersion.toValue(javaVersion, implementor);
-        }
-
-        return null;
-    }
-
-    private static String extractValue(String line) {
-        String[] keyValue = line.split("=");
-        if (keyValue.length == 2) {
-            return keyValue[1].trim();
-        }
-        return "";
-    }
-
-    public static boolean isCorrectJDK(JDKVersion jdkVersion, JvmOption jvmOption, String javaHome) {
+    public static boolean isCorrectJDK(JDKProbe jdk, JvmOption jvmOption) {
+        JDKVersion jdkVersion = jdk.getVersion();
         boolean correctJDK = true;
         if (jvmOption.getVendor() != null) {
             String jdkVendor = jdkVersion.getVendor();
@@ -289,15 +242,8 @@ public class JDKVersion {
             correctJDK = jdkVersion.le(jvmOption.getMaxVersion());
         }
         if (correctJDK && jvmOption.getOption() != null && CRAC_OPTION_PATTERN.matcher(jvmOption.getOption()).matches()) {
-            correctJDK = isCRaCSupported(javaHome);
+            correctJDK = jdk.isCRaCSupported();
         }
         return correctJDK;
     }
-
-    private static boolean isCRaCSupported(String javaHome) {
-        return Optional.ofNullable(javaHome)
-                .map(home -> new File(home, "lib/criu"))
-                .map(File::exists)
-                .orElse(false);
-    }
 }
\ No newline at end of file
@@ -38,10 +38,6 @@
  */
 package fish.payara.maven.plugins.server.parser;
 
-import org.w3c.dom.*;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -53,70 +49,19 @@ public class JvmConfigReader {
     private final List<JvmOption> jvmOptions = new ArrayList<>();
     private final Map<String, String> propMap = new HashMap<>();
     private boolean monitoringEnabled = false;
-    private String serverConfigName = "";
-    private boolean readConfig = false;
 
     public JvmConfigReader(String domainXmlPath, String serverName) {
         this.serverName = serverName;
-        parseDomainXML(domainXmlPath);
+        readConfig(DomainModel.of(domainXmlPath));
     }
 
-    private void parseDomainXML(String domainXmlPath) {
-        try {
-            File xmlFile = new File(domainXmlPath);
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(xmlFile);
-            doc.getDocumentElement().normalize();
-
-            NodeList servers = doc.getElementsByTagName("server");
-            NodeList configs = doc.getElementsByTagName("config");
-
-            // Find the server with the matching name
-            for (int i = 0; i < servers.getLength(); i++) {
-                Node serverNode = servers.item(i);
-                if (serverNode.getNodeType() == Node.ELEMENT_NODE) {
-                    Element serverElement = (Element) serverNode;
-                    if (serverName.equals(serverElement.getAttribute("name"))) {
-                        serverConfigName = serverElement.getAttribute("config-ref");
-                        break;
-                    }
-                }
-            }
-
-            // Find the config with the matching name
-            for (int i = 0; i < configs.getLength(); i++) {
-                Node configNode = configs.item(i);
-                if (configNode.getNodeType() == Node.ELEMENT_NODE) {
-                    Element configElement = (Element) configNode;
-                    if (serverConfigName.equals(configElement.getAttribute("name"))) {
-                        NodeList javaConfigList = configElement.getElementsByTagName("java-config");
-                        if (javaConfigList.getLength() > 0) {
-                            Element javaConfig = (Element) javaConfigList.item(0);
-
-                            // Parse jvm-options
-                            NodeList jvmOptionsList = javaConfig.getElementsByTagName("jvm-options");
-                            for (int j = 0; j < jvmOptionsList.getLength(); j++) {
-                                Node jvmOptionNode = jvmOptionsList.item(j);
-                                if (jvmOptionNode.getNodeType() == Node.ELEMENT_NODE) {
-                                    String value = jvmOptionNode.getTextContent().trim();
-                                    jvmOptions.add(new JvmOption(value));
-                                }
-                            }
-
-                            // Parse attributes into propMap
-                            NamedNodeMap attributes = javaConfig.getAttributes();
-                            for (int k = 0; k < attributes.getLength(); k++) {
-                                Node attribute = attributes.item(k);
-                                propMap.put(attribute.getNodeName(), attribute.getNodeValue());
-                            }
-                        }
-                        break;
-                    }
-                }
+    private void readConfig(DomainModel domain) {
+        DomainModel.Config config = domain.getServerConfig(serverName);
+        if (config != null) {
+            for (String option : config.getJvmOptions()) {
+                jvmOptions.add(new JvmOption(option));
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Unable to parse file " + domainXmlPath + " : " + e.getMessage(), e);
+            propMap.putAll(config.getJavaConfig());
         }
     }
 
@@ -38,84 +38,36 @@
  */
 package fish.payara.maven.plugins.server.parser;
 
-import java.io.File;
-import java.io.IOException;
-import org.xml.sax.SAXException;
-import org.w3c.dom.*;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-
 public class PortReader {
 
     private String serverName;
     private int httpPort = -1;
     private int httpsPort = -1;
     private int adminPort = -1;
-    private String serverConfigName = "";
 
     public PortReader(String domainXmlPath, String serverName) {
         this.serverName = serverName;
-        parseDomainXML(domainXmlPath);
+        readPorts(DomainModel.of(domainXmlPath));
     }
 
-    private void parseDomainXML(String domainXmlPath) {
+    private void readPorts(DomainModel domain) {
+        DomainModel.Config config = domain.getServerConfig(serverName);
+        if (config == null) {
+            return;
+        }
         try {
-            File file = new File(domainXmlPath);
-
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(file);
-
-            // Normalize the XML structure
-            document.getDocumentElement().normalize();
-
-            NodeList servers = document.getElementsByTagName("server");
-            NodeList configs = document.getElementsByTagName("config");
-
-            // Iterate over servers
-            for (int i = 0; i < servers.getLength(); i++) {
-                Node serverNode = servers.item(i);
-                if (serverNode.getNodeType() == Node.ELEMENT_NODE) {
-                    Element serverElement = (Element) serverNode;
-                    String name = serverElement.getAttribute("name");
-                    if (name.equals(serverName)) {
-                        serverConfigName = serverElement.getAttribute("config-ref");
-                    }
-                }
-            }
-
-            // Iterate over configs
-            for (int i = 0; i < configs.getLength(); i++) {
-                Node configNode = configs.item(i);
-                if (configNode.getNodeType() == Node.ELEMENT_NODE) {
-                    Element configElement = (Element) configNode;
-                    String configName = configElement.getAttribute("name");
-                    if (configName.equals(serverConfigName)) {
-                        NodeList networkListeners = configElement.getElementsByTagName("network-listener");
-                        for (int j = 0; j < networkListeners.getLength(); j++) {
-                            Node networkListenerNode = networkListeners.item(j);
-                            if (networkListenerNode.getNodeType() == Node.ELEMENT_NODE) {
-                                Element networkListenerElement = (Element) networkListenerNode;
-                                String name = networkListenerElement.getAttribute("name");
-                                int port = Integer.parseInt(networkListenerElement.getAttribute("port"));
-                                if (name.equals("http-listener-1")) {
-                                    httpPort = port;
-                                } else if (name.equals("http-listener-2")) {
-                                    httpsPort = port;
-                                } else if (name.equals("admin-listener")) {
-                                    adminPort = port;
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        } catch (IOException | NumberFormatException | ParserConfigurationException | SAXException ex) {
+            httpPort = port(config.getListenerPort("http-listener-1"));
+            httpsPort = port(config.getListenerPort("http-listener-2"));
+            adminPort = port(config.getListenerPort("admin-listener"));
+        } catch (NumberFormatException ex) {
             throw new IllegalStateException("Unable to parse domain.xml: " + ex.getMessage());
         }
     }
 
+    private static int port(String value) {
+        return value == null ? -1 : Integer.parseInt(value);
+    }
+
     public int getHttpPort() {
         return httpPort;
     }
@@ -0,0 +1,368 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins.server.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Extracts an archive into a cache directory shared by concurrent builds.
+ * <p>
+ * The entries are extracted in parallel and a marker identifying the
+ * archive is written once all of them are in place, so that a partially
+ * extracted tree, e.g. of a killed build, is extracted again instead of
+ * being reused. Builds extracting into the same directory are serialized
+ * by a file lock.
+ *
+ * @author Gaurav Gupta
+ */
+public class ZipExtractor {
+
+    private static final String MARKER_FILE = ".payara-extracted";
+    private static final String LOCK_FILE = ".payara-extract.lock";
+    private static final String HASH_KEY = "archive.sha256";
+    private static final String SIZE_KEY = "archive.size";
+    private static final String MODIFIED_KEY = "archive.modified";
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int CENTRAL_DIRECTORY_ENTRY = 0x02014b50;
+    private static final int MADE_BY_UNIX = 3;
+    /**
+     * File locks are held by the JVM, so builds of the same JVM are
+     * serialized separately.
+     */
+    private static final Map<Path, Object> LOCKS = new ConcurrentHashMap<>();
+
+    private final Log log;
+
+    public ZipExtractor(Log log) {
+        this.log = log;
+    }
+
+    /**
+     * Extracts the archive into the directory, unless it was already
+     * completely extracted from an archive with the same content.
+     */
+    public void extract(Path archive, Path directory) throws IOException {
+        Path destination = directory.toAbsolutePath().normalize();
+        Files.createDirectories(destination);
+        Path marker = destination.resolve(MARKER_FILE);
+        BasicFileAttributes attributes = Files.readAttributes(archive, BasicFileAttributes.class);
+        if (isExtracted(marker, archive, attributes)) {
+            return;
+        }
+        synchronized (LOCKS.computeIfAbsent(destination, path -> new Object())) {
+            try (FileChannel channel = FileChannel.open(destination.resolve(LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    if (isExtracted(marker, archive, attributes)) {
+                        return;
+                    }
+                    Files.deleteIfExists(marker);
+                    log.info("Extracting " + archive.getFileName() + " to " + destination);
+                    long start = System.currentTimeMillis();
+                    int count = extractEntries(archive, destination);
+                    writeMarker(marker, hash(archive), attributes);
+                    log.info("Extracted " + count + " entries in " + (System.currentTimeMillis() - start) + " ms");
+                } finally {
+                    lock.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * The archive hash is only computed when the size or modification time
+     * of the archive differ from the marker, e.g. the same artifact was
+     * downloaded again, in which case the marker is updated.
+     */
+    private boolean isExtracted(Path marker, Path archive, BasicFileAttributes attributes) throws IOException {
+        if (!Files.isRegularFile(marker)) {
+            return false;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(marker)) {
+            properties.load(in);
+        } catch (IOException ex) {
+            return false;
+        }
+        String hash = properties.getProperty(HASH_KEY);
+        if (hash == null) {
+            return false;
+        }
+        if (Long.toString(attributes.size()).equals(properties.getProperty(SIZE_KEY))
+                && Long.toString(attributes.lastModifiedTime().toMillis()).equals(properties.getProperty(MODIFIED_KEY))) {
+            return true;
+        }
+        if (!hash.equals(hash(archive))) {
+            return false;
+        }
+        writeMarker(marker, hash, attributes);
+        return true;
+    }
+
+    private void writeMarker(Path marker, String hash, BasicFileAttributes attributes) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(HASH_KEY, hash);
+        properties.setProperty(SIZE_KEY, Long.toString(attributes.size()));
+        properties.setProperty(MODIFIED_KEY, Long.toString(attributes.lastModifiedTime().toMillis()));
+        Path tempFile = Files.createTempFile(marker.getParent(), MARKER_FILE, ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                properties.store(out, null);
+            }
+            Files.move(tempFile, marker, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private int extractEntries(Path archive, Path destination) throws IOException {
+        Map<String, Integer> modes = readUnixModes(archive);
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            List<ZipEntry> files = new ArrayList<>();
+            Set<Path> directories = new LinkedHashSet<>();
+            Set<Path> roots = new LinkedHashSet<>();
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                Path target = resolve(destination, entry.getName());
+                roots.add(destination.resolve(destination.relativize(target).getName(0)));
+                if (entry.isDirectory()) {
+                    directories.add(target);
+                } else {
+                    directories.add(target.getParent());
+                    files.add(entry);
+                }
+            }
+            // left over of an interrupted extraction
+            for (Path root : roots) {
+                delete(root);
+            }
+            for (Path directory : directories) {
+                Files.createDirectories(directory);
+            }
+            files.sort(Comparator.comparingLong(ZipEntry::getCompressedSize).reversed());
+            ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            try {
+                List<Future<?>> futures = new ArrayList<>(files.size());
+                for (ZipEntry entry : files) {
+                    futures.add(executor.submit(() -> {
+                        extractEntry(zipFile, entry, resolve(destination, entry.getName()), modes.get(entry.getName()));
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Extraction of " + archive + " interrupted", ex);
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof IOException) {
+                    throw (IOException) ex.getCause();
+                }
+                throw new IOException("Unable to extract " + archive, ex.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+            return files.size() + directories.size();
+        }
+    }
+
+    private static void extractEntry(ZipFile zipFile, ZipEntry entry, Path target, Integer mode) throws IOException {
+        try (InputStream in = zipFile.getInputStream(entry);
+                OutputStream out = Files.newOutputStream(target)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        if (mode != null) {
+            PosixFileAttributeView view = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+            if (view != null) {
+                view.setPermissions(toPermissions(mode));
+            }
+        }
+    }
+
+    private static Path resolve(Path destination, String name) throws IOException {
+        Path target = destination.resolve(name).normalize();
+        if (target.equals(destination) || !target.startsWith(destination)) {
+            throw new IOException("Entry " + name + " is outside of " + destination);
+        }
+        return target;
+    }
+
+    private static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path file : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static Set<PosixFilePermission> toPermissions(int mode) {
+        Set<PosixFilePermission> permissions = EnumSet.noneOf(PosixFilePermission.class);
+        PosixFilePermission[] values = {
+            PosixFilePermission.OTHERS_EXECUTE, PosixFilePermission.OTHERS_WRITE, PosixFilePermission.OTHERS_READ,
+            PosixFilePermission.GROUP_EXECUTE, PosixFilePermission.GROUP_WRITE, PosixFilePermission.GROUP_READ,
+            PosixFilePermission.OWNER_EXECUTE, PosixFilePermission.OWNER_WRITE, PosixFilePermission.OWNER_READ
+        };
+        for (int i = 0; i < values.length; i++) {
+            if ((mode & (1 << i)) != 0) {
+                permissions.add(values[i]);
+            }
+        }
+        return permissions;
+    }
+
+    /**
+     * ZipFile does not expose the external attributes of the entries, which
+     * hold the Unix permissions of archives created on Unix, so they are
+     * read from the central directory.
+     *
+     * @return the permission bits by entry name, empty if they cannot be
+     * read, e.g. for a Zip64 archive.
+     */
+    private Map<String, Integer> readUnixModes(Path archive) {
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int tailSize = (int) Math.min(size, 0xFFFF + 22);
+            ByteBuffer tail = ByteBuffer.allocate(tailSize).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(tail, size - tailSize);
+            int end = -1;
+            for (int i = tailSize - 22; i >= 0; i--) {
+                if (tail.getInt(i) == END_OF_CENTRAL_DIRECTORY) {
+                    end = i;
+                    break;
+                }
+            }
+            if (end < 0) {
+                return Collections.emptyMap();
+            }
+            long directorySize = tail.getInt(end + 12) & 0xFFFFFFFFL;
+            long directoryOffset = tail.getInt(end + 16) & 0xFFFFFFFFL;
+            if (directoryOffset == 0xFFFFFFFFL || directoryOffset + directorySize > size) {
+                return Collections.emptyMap();
+            }
+            ByteBuffer directory = ByteBuffer.allocate((int) directorySize).order(ByteOrder.LITTLE_ENDIAN);
+            while (directory.hasRemaining() && channel.read(directory, directoryOffset + directory.position()) != -1) {
+                // read fully
+            }
+            Map<String, Integer> modes = new HashMap<>();
+            int position = 0;
+            while (position + 46 <= directorySize && directory.getInt(position) == CENTRAL_DIRECTORY_ENTRY) {
+                int madeBy = (directory.getShort(position + 4) & 0xFFFF) >> 8;
+                int nameLength = directory.getShort(position + 28) & 0xFFFF;
+                int extraLength = directory.getShort(position + 30) & 0xFFFF;
+                int commentLength = directory.getShort(position + 32) & 0xFFFF;
+                int mode = (directory.getInt(position + 38) >>> 16) & 0777;
+                if (madeBy == MADE_BY_UNIX && mode != 0) {
+                    byte[] name = new byte[nameLength];
+                    directory.position(position + 46);
+                    directory.get(name);
+                    modes.put(new String(name, StandardCharsets.UTF_8), mode);
+                }
+                position += 46 + nameLength + extraLength + commentLength;
+            }
+            return modes;
+        } catch (IOException | RuntimeException ex) {
+            log.debug("Unable to read file permissions of " + archive, ex);
+            return Collections.emptyMap();
+        }
+    }
+
+    private static String hash(Path archive) throws IOException {
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+            return new BigInteger(1, digest.digest()).toString(16);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+}
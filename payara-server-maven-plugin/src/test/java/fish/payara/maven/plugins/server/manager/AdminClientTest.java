@@ -0,0 +1,156 @@
+/*
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/master/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.maven.plugins.server.manager;
+
+import com.sun.net.httpserver.HttpServer;
+import fish.payara.maven.plugins.server.Command;
+import fish.payara.maven.plugins.server.response.Response;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.After;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Measures the administration commands per second sent to a stub of the
+ * administration interface, one at a time and with several in flight.
+ */
+public class AdminClientTest {
+
+    private static final int COMMAND_COUNT = 1000;
+    private static final int CONCURRENCY = 16;
+    private static final byte[] VERSION_RESPONSE = "{\"exit_code\":\"SUCCESS\",\"message\":\"6.2024\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final Log log = new SystemStreamLog();
+    private HttpServer server;
+    private ExecutorService executor;
+    private PayaraServerRemoteInstance instance;
+
+    @BeforeClass
+    public static void disableDelayedAcks() {
+        // otherwise the stub answers small requests after the delayed ACK of the client
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    @Before
+    public void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        executor = Executors.newFixedThreadPool(8);
+        server.setExecutor(executor);
+        server.createContext(InstanceManager.MANAGEMENT_PATH + InstanceManager.VERSION_COMMAND, exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", InstanceManager.CONTENT_TYPE_JSON);
+            exchange.sendResponseHeaders(200, VERSION_RESPONSE.length);
+            exchange.getResponseBody().write(VERSION_RESPONSE);
+            exchange.close();
+        });
+        server.start();
+        instance = new PayaraServerRemoteInstance("127.0.0.1");
+        instance.setAdminPort(server.getAddress().getPort());
+        instance.setHttpConnectionTimeout(1000);
+        instance.setHttpReadTimeout(3000);
+        instance.setProtocol(PayaraServerLocalInstance.HTTP);
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSequentialCommands() throws Exception {
+        RemoteInstanceManager manager = new RemoteInstanceManager(instance, log);
+        assertTrue(manager.pingServer());
+        long startTime = System.nanoTime();
+        int succeeded = 0;
+        for (int i = 0; i < COMMAND_COUNT; i++) {
+            if (manager.pingServer()) {
+                succeeded++;
+            }
+        }
+        report("Sequential", startTime);
+        assertEquals(COMMAND_COUNT, succeeded);
+    }
+
+    @Test
+    public void testConcurrentCommands() throws Exception {
+        AdminClient client = new AdminClient(log);
+        long startTime = System.nanoTime();
+        Deque<CompletableFuture<Response>> responses = new ArrayDeque<>();
+        int succeeded = 0;
+        for (int i = 0; i < COMMAND_COUNT; i++) {
+            if (responses.size() == CONCURRENCY && responses.poll().get().isExitCodeSuccess()) {
+                succeeded++;
+            }
+            responses.add(client.sendAsync(instance,
+                    new Command(InstanceManager.MANAGEMENT_PATH, InstanceManager.VERSION_COMMAND, null)));
+        }
+        for (CompletableFuture<Response> response : responses) {
+            if (response.get().isExitCodeSuccess()) {
+                succeeded++;
+            }
+        }
+        report("Concurrent", startTime);
+        assertEquals(COMMAND_COUNT, succeeded);
+    }
+
+    @Test
+    public void testConnectWithServer() throws Exception {
+        long startTime = System.currentTimeMillis();
+        new RemoteInstanceManager(instance, log).connectWithServer();
+        assertTrue(System.currentTimeMillis() - startTime < InstanceManager.HTTP_RETRY_DELAY);
+    }
+
+    private void report(String mode, long startTime) {
+        double seconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+        log.info(String.format("%s: %d commands, %.0f commands/s", mode, COMMAND_COUNT, COMMAND_COUNT / seconds));
+    }
+
+}